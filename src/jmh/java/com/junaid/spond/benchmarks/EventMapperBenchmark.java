@@ -0,0 +1,56 @@
+package com.junaid.spond.benchmarks;
+
+import com.junaid.spond.dtos.EventResponse;
+import com.junaid.spond.dtos.NewEventRequest;
+import com.junaid.spond.mappers.EventMapper;
+import com.junaid.spond.models.Event;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Mapping between requests, entities and responses. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMapperBenchmark {
+  private NewEventRequest newEventRequest;
+  private Event event;
+
+  @Setup
+  public void setUp() {
+    var start = Instant.parse("2025-05-10T10:00:00Z");
+    newEventRequest =
+        NewEventRequest.builder()
+            .name("Sample Event")
+            .description("Sample Event Description")
+            .latitude(58.969975)
+            .longitude(5.733107)
+            .startDateTime(start)
+            .endDateTime(start.plus(Duration.ofHours(2)))
+            .build();
+    event = Fixtures.event(1L, start);
+  }
+
+  @Benchmark
+  public Event toEntity() {
+    return EventMapper.toEntity(newEventRequest);
+  }
+
+  @Benchmark
+  public EventResponse toEventResponse() {
+    return EventMapper.toEventResponse(event);
+  }
+}
@@ -0,0 +1,106 @@
+package com.junaid.spond.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.junaid.spond.configs.AppConfig;
+import com.junaid.spond.configs.CacheProperties;
+import com.junaid.spond.configs.ForecastProperties;
+import com.junaid.spond.dtos.EventResponse;
+import com.junaid.spond.models.EventSnapshot;
+import com.junaid.spond.models.SerializedEvent;
+import com.junaid.spond.repositories.EventRepository;
+import com.junaid.spond.services.EventService;
+import com.junaid.spond.services.ForecastWriteBehind;
+import com.junaid.spond.utils.ForecastExpiry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * EventService.getEventById on a cache hit and on a cache miss served from an in-memory repository,
+ * so only the service and cache overhead is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventServiceBenchmark {
+  private static final Long EVENT_ID = 1L;
+
+  private EventService eventService;
+  private Cache<Long, EventSnapshot> forecastCache;
+  private ObjectMapper objectMapper;
+
+  @Setup
+  public void setUp() {
+    var event = Fixtures.event(EVENT_ID, Instant.now().plus(Duration.ofDays(2)));
+    var eventRepository =
+        (EventRepository)
+            Proxy.newProxyInstance(
+                EventRepository.class.getClassLoader(),
+                new Class<?>[] {EventRepository.class},
+                (proxy, method, args) -> {
+                  if (method.getName().equals("findWithForecastById")) {
+                    return Optional.of(event);
+                  }
+                  throw new UnsupportedOperationException(method.getName());
+                });
+    forecastCache = Caffeine.newBuilder().maximumSize(100).expireAfter(new ForecastExpiry()).build();
+
+    eventService = new EventService();
+    ReflectionTestUtils.setField(eventService, "eventRepository", eventRepository);
+    ReflectionTestUtils.setField(eventService, "forecastCache", forecastCache);
+    ReflectionTestUtils.setField(eventService, "forecastProperties", new ForecastProperties());
+    var cacheProperties = new CacheProperties();
+    cacheProperties.setSerializedEvents(true);
+    ReflectionTestUtils.setField(eventService, "cacheProperties", cacheProperties);
+    objectMapper = new AppConfig().objectMapper(new Jackson2ObjectMapperBuilder());
+    ReflectionTestUtils.setField(eventService, "objectMapper", objectMapper);
+    ReflectionTestUtils.setField(eventService, "forecastRefreshExecutor", (Executor) Runnable::run);
+    ReflectionTestUtils.setField(
+        eventService, "forecastWriteBehind", new ForecastWriteBehind(new SimpleMeterRegistry()));
+    eventService.getEventById(EVENT_ID);
+  }
+
+  @Benchmark
+  public EventResponse cacheHit() {
+    return eventService.getEventById(EVENT_ID);
+  }
+
+  @Benchmark
+  public byte[] cacheHitSerialized() throws JsonProcessingException {
+    // what the message converter does with a cache hit
+    return objectMapper.writeValueAsBytes(eventService.getEventById(EVENT_ID));
+  }
+
+  @Benchmark
+  public SerializedEvent serializedCacheHit() {
+    return eventService.getSerializedEvent(EVENT_ID);
+  }
+
+  @Benchmark
+  public EventResponse cacheMiss() {
+    forecastCache.invalidate(EVENT_ID);
+    return eventService.getEventById(EVENT_ID);
+  }
+}
@@ -0,0 +1,43 @@
+package com.junaid.spond.benchmarks;
+
+import com.junaid.spond.dtos.EventSummary;
+import com.junaid.spond.models.Event;
+import java.time.Duration;
+import java.time.Instant;
+
+/** Sample data shared by the benchmarks. */
+final class Fixtures {
+  private Fixtures() {}
+
+  static Event event(long id, Instant start) {
+    return Event.builder()
+        .id(id)
+        .name("Sample Event " + id)
+        .description("Sample Event " + id + " Description")
+        .latitude(58.97)
+        .longitude(5.73)
+        .startDateTime(start)
+        .endDateTime(start.plus(Duration.ofHours(2)))
+        .airTemperature(12.3)
+        .windSpeed(4.5)
+        .forecastExpiresAt(Instant.now().plus(Duration.ofDays(365)))
+        .forecastLastModifiedAt(start.minus(Duration.ofHours(1)))
+        .build();
+  }
+
+  /** The event as the listing query projects it. */
+  static EventSummary summary(Event event) {
+    return new EventSummary(
+        event.getId(),
+        event.getName(),
+        event.getDescription(),
+        event.getLatitude(),
+        event.getLongitude(),
+        event.getStartDateTime(),
+        event.getEndDateTime(),
+        event.getAirTemperature(),
+        event.getWindSpeed(),
+        event.getVersion(),
+        event.getForecastLastModifiedAt());
+  }
+}
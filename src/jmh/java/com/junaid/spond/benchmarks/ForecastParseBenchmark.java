@@ -0,0 +1,89 @@
+package com.junaid.spond.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junaid.spond.models.ForecastData;
+import com.junaid.spond.models.LocationForecast;
+import com.junaid.spond.utils.MetForecastParser;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing a recorded MET compact response: the old tree-model path against the streaming extractor
+ * used by ForecastService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForecastParseBenchmark {
+  private static final Instant FIRST_TIMESTEP = Instant.parse("2025-05-10T10:00:00Z");
+
+  private ObjectMapper objectMapper;
+  private byte[] payload;
+  private Instant eventStartTime;
+  private Instant horizon;
+  private LocationForecast locationForecast;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = new ObjectMapper();
+    try (var in = getClass().getResourceAsStream("/met/compact-58.97-5.73.json")) {
+      payload = in.readAllBytes();
+    }
+    eventStartTime = FIRST_TIMESTEP.plus(Duration.ofDays(2)).plus(Duration.ofMinutes(20));
+    horizon = FIRST_TIMESTEP.plus(Duration.ofDays(8));
+    try (var parser = objectMapper.getFactory().createParser(payload)) {
+      locationForecast = MetForecastParser.parse(parser, horizon, null, null);
+    }
+  }
+
+  @Benchmark
+  public double treeModel() throws IOException {
+    // what ForecastService.parseWeatherData did before the streaming extractor
+    var body = new String(payload, StandardCharsets.UTF_8);
+    var rootNode = objectMapper.readTree(body);
+    var timeSeries = rootNode.path("properties").path("timeseries");
+    JsonNode closestNode = null;
+    var timeDifference = Long.MAX_VALUE;
+    for (var node : timeSeries) {
+      var forecastTime = Instant.parse(node.path("time").asText());
+      var difference = Math.abs(Duration.between(eventStartTime, forecastTime).toSeconds());
+      if (difference < timeDifference) {
+        timeDifference = difference;
+        closestNode = node;
+      }
+    }
+    var details = closestNode.path("data").path("instant").path("details");
+    return details.path("air_temperature").asDouble() + details.path("wind_speed").asDouble();
+  }
+
+  @Benchmark
+  public ForecastData streaming() throws IOException {
+    try (var parser = objectMapper.getFactory().createParser(new ByteArrayInputStream(payload))) {
+      return MetForecastParser.parse(parser, horizon, null, null).forecastAt(eventStartTime);
+    }
+  }
+
+  @Benchmark
+  public ForecastData closestTimestep() {
+    // an event picking its timestep from an already cached location forecast
+    return locationForecast.forecastAt(eventStartTime);
+  }
+}
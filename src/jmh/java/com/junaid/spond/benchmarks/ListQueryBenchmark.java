@@ -0,0 +1,134 @@
+package com.junaid.spond.benchmarks;
+
+import com.junaid.spond.SpondApplication;
+import com.junaid.spond.dtos.EventFilter;
+import com.junaid.spond.dtos.EventResponse;
+import com.junaid.spond.dtos.EventSummary;
+import com.junaid.spond.mappers.EventMapper;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.models.Forecast;
+import com.junaid.spond.models.ForecastData;
+import com.junaid.spond.repositories.EventRepository;
+import com.junaid.spond.repositories.EventSpecifications;
+import com.junaid.spond.repositories.ForecastRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A page of GET /api/events against the in-memory database: loading Event entities and mapping
+ * them to responses, against projecting the rows straight into summaries. Run with -prof gc to see
+ * the allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListQueryBenchmark {
+  private static final int EVENTS = 2000;
+
+  @Param({"20", "500"})
+  public int pageSize;
+
+  private ConfigurableApplicationContext app;
+  private EventRepository eventRepository;
+  private ForecastRepository forecastRepository;
+  private TransactionTemplate readOnly;
+  private Specification<Event> all;
+  private PageRequest pageRequest;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    app =
+        new SpringApplicationBuilder(SpondApplication.class)
+            .run(
+                "--spring.main.web-application-type=none",
+                "--spond.forecast.refresh.enabled=false",
+                "--spond.cache.warm-up.enabled=false",
+                "--logging.level.root=WARN");
+    eventRepository = app.getBean(EventRepository.class);
+    forecastRepository = app.getBean(ForecastRepository.class);
+    readOnly = new TransactionTemplate(app.getBean(PlatformTransactionManager.class));
+    readOnly.setReadOnly(true);
+
+    var start = Instant.now().plus(Duration.ofDays(2));
+    var events = new ArrayList<Event>(EVENTS);
+    var forecasts = new ArrayList<Forecast>(EVENTS);
+    for (var i = 0; i < EVENTS; i++) {
+      var event = Fixtures.event(0, start.plus(Duration.ofMinutes(i)));
+      event.setId(null);
+      event.setLatitude(58.0 + i * 0.001);
+      events.add(event);
+      forecasts.add(
+          EventMapper.toForecast(
+              event.forecastKey(),
+              new ForecastData(
+                  event.getAirTemperature(),
+                  event.getWindSpeed(),
+                  event.getForecastExpiresAt(),
+                  event.getForecastLastModifiedAt())));
+    }
+    eventRepository.saveAll(events);
+    forecastRepository.upsertAll(forecasts);
+
+    all = EventSpecifications.matching(new EventFilter());
+    pageRequest = PageRequest.of(1, pageSize, EventSpecifications.KEYSET_ORDER);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    app.close();
+  }
+
+  @Benchmark
+  public List<EventResponse> entities() {
+    // how the page was read before: managed entities, their forecasts by key, then mapped
+    return readOnly.execute(
+        status -> {
+          var events = eventRepository.findAll(all, pageRequest).getContent();
+          var keys = events.stream().map(Event::forecastKey).filter(Objects::nonNull).toList();
+          var forecasts =
+              forecastRepository.findAllById(keys).stream()
+                  .collect(Collectors.toMap(Forecast::getId, Function.identity()));
+          for (var event : events) {
+            var forecast = forecasts.get(event.forecastKey());
+            if (forecast != null) {
+              event.setAirTemperature(forecast.getAirTemperature());
+              event.setWindSpeed(forecast.getWindSpeed());
+            }
+          }
+          return events.stream().map(EventMapper::toEventResponse).toList();
+        });
+  }
+
+  @Benchmark
+  public List<EventSummary> projection() {
+    return readOnly.execute(status -> eventRepository.findSummaries(all, pageRequest));
+  }
+}
@@ -0,0 +1,69 @@
+package com.junaid.spond.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.junaid.spond.configs.AppConfig;
+import com.junaid.spond.dtos.EventResponse;
+import com.junaid.spond.dtos.EventSummary;
+import com.junaid.spond.dtos.PageableResponse;
+import com.junaid.spond.mappers.EventMapper;
+import com.junaid.spond.models.Event;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/** Jackson serialization of a page of events, with the ObjectMapper the application uses. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+  @Param({"10", "100"})
+  private int pageSize;
+
+  private ObjectWriter writer;
+  private PageableResponse<EventSummary> page;
+  private EventResponse eventResponse;
+
+  @Setup
+  public void setUp() {
+    ObjectMapper objectMapper = new AppConfig().objectMapper(new Jackson2ObjectMapperBuilder());
+    writer = objectMapper.writer();
+
+    var start = Instant.parse("2025-05-10T10:00:00Z");
+    var events = new ArrayList<Event>(pageSize);
+    for (var i = 0; i < pageSize; i++) {
+      events.add(Fixtures.event(i + 1L, start.plus(Duration.ofHours(i))));
+    }
+    page =
+        new PageableResponse<>(
+            events.stream().map(Fixtures::summary).toList(), 0, 10, 10L * pageSize);
+    eventResponse = EventMapper.toEventResponse(events.get(0));
+  }
+
+  @Benchmark
+  public byte[] pageableResponse() throws JsonProcessingException {
+    return writer.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public byte[] eventResponse() throws JsonProcessingException {
+    return writer.writeValueAsBytes(eventResponse);
+  }
+}
@@ -0,0 +1,146 @@
+package com.junaid.spond.benchmarks;
+
+import com.junaid.spond.SpondApplication;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.repositories.EventRepository;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Load test for GET /api/events/{id} while the forecast upstream is slow. The app is started on
+ * platform or virtual threads against a local stub that answers after upstreamLatencyMillis, and
+ * 400 client threads keep requests in flight. Every forecast the stub returns is already expired,
+ * so each read waits on the upstream. With platform threads Tomcat's 200 workers cap throughput at
+ * about 200 / latency, with virtual threads the clients are the limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(400)
+public class UpstreamLatencyBenchmark {
+  private static final int EVENTS = 2000;
+  private static final DateTimeFormatter HTTP_DATE_FORMATTER =
+      DateTimeFormatter.RFC_1123_DATE_TIME.withLocale(Locale.US).withZone(ZoneId.of("GMT"));
+
+  @Param({"false", "true"})
+  public boolean virtualThreads;
+
+  @Param("2000")
+  public int upstreamLatencyMillis;
+
+  private ExecutorService upstreamExecutor;
+  private HttpServer upstream;
+  private ConfigurableApplicationContext app;
+  private HttpClient client;
+  private String eventsUrl;
+  private List<Long> ids;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    byte[] payload;
+    try (var in = getClass().getResourceAsStream("/met/compact-58.97-5.73.json")) {
+      payload = in.readAllBytes();
+    }
+    upstreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+    upstream.setExecutor(upstreamExecutor);
+    upstream.createContext(
+        "/",
+        exchange -> {
+          try {
+            Thread.sleep(upstreamLatencyMillis);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          var now = HTTP_DATE_FORMATTER.format(Instant.now());
+          exchange.getResponseHeaders().set("Content-Type", "application/json");
+          exchange.getResponseHeaders().set("Expires", now);
+          exchange.getResponseHeaders().set("Last-Modified", now);
+          exchange.sendResponseHeaders(200, payload.length);
+          try (var body = exchange.getResponseBody()) {
+            body.write(payload);
+          }
+        });
+    upstream.start();
+
+    // command line arguments, default properties would lose to application.properties
+    app =
+        new SpringApplicationBuilder(SpondApplication.class)
+            .run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spond.forecast.client.base-url=http://127.0.0.1:"
+                    + upstream.getAddress().getPort()
+                    + "/compact",
+                // the thread model is what is compared, not the upstream limit
+                "--spond.forecast.client.max-concurrent-requests=4096",
+                "--spond.forecast.client.request-timeout=PT30S",
+                "--spond.forecast.refresh.enabled=false",
+                "--logging.level.root=WARN");
+
+    var start = Instant.now().plus(Duration.ofDays(2));
+    var events = new ArrayList<Event>(EVENTS);
+    for (var i = 0; i < EVENTS; i++) {
+      // one coordinate cell per event so no two reads share a fetch
+      var event = Fixtures.event(0, start);
+      event.setId(null);
+      event.setLatitude(58.0 + i * 0.001);
+      events.add(event);
+    }
+    ids =
+        app.getBean(EventRepository.class).saveAll(events).stream().map(Event::getId).toList();
+
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    eventsUrl =
+        "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port") + "/api/events/";
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    app.close();
+    upstream.stop(0);
+    upstreamExecutor.close();
+  }
+
+  @Benchmark
+  public int getEventById() throws IOException, InterruptedException {
+    var id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    var request = HttpRequest.newBuilder(URI.create(eventsUrl + id)).build();
+    return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+}
@@ -4,19 +4,71 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.junaid.spond.models.Event;
-import java.util.concurrent.TimeUnit;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.junaid.spond.models.EventSnapshot;
+import com.junaid.spond.models.LocationForecast;
+import com.junaid.spond.models.LocationKey;
+import com.junaid.spond.utils.CacheWeighers;
+import com.junaid.spond.utils.CircuitBreaker;
+import com.junaid.spond.utils.ConcurrencyLimiter;
+import com.junaid.spond.utils.ForecastExpiry;
+import com.junaid.spond.utils.InProcessSharedCache;
+import com.junaid.spond.utils.SharedCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
+@EnableScheduling
+@EnableConfigurationProperties({ForecastProperties.class, CacheProperties.class})
 public class AppConfig {
 
   @Bean
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
+  public HttpClient forecastHttpClient(
+      ForecastProperties forecastProperties,
+      @Qualifier("forecastHttpExecutor") Executor forecastHttpExecutor) {
+    // HTTP/2 multiplexes concurrent fetches over one kept-alive connection, servers without it get
+    // pooled keep-alive HTTP/1.1 connections
+    return HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_2)
+        .connectTimeout(forecastProperties.getClient().getConnectTimeout())
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .executor(forecastHttpExecutor)
+        .build();
+  }
+
+  @Bean
+  public AsyncTaskExecutor forecastHttpExecutor(
+      ForecastProperties forecastProperties, Environment environment) {
+    return executor(environment, "forecast-http-", forecastProperties.getClient().getThreads());
+  }
+
+  @Bean
+  public ConcurrencyLimiter forecastRequestLimiter(ForecastProperties forecastProperties) {
+    return new ConcurrencyLimiter(forecastProperties.getClient().getMaxConcurrentRequests());
+  }
+
+  @Bean
+  public CircuitBreaker forecastCircuitBreaker(ForecastProperties forecastProperties) {
+    var circuitBreaker = forecastProperties.getCircuitBreaker();
+    return new CircuitBreaker(
+        circuitBreaker.getFailureThreshold(), circuitBreaker.getOpenDuration());
   }
 
   @Bean
@@ -29,7 +81,92 @@ public class AppConfig {
   }
 
   @Bean
-  public Cache<String, Event> forecastCache() {
-    return Caffeine.newBuilder().maximumSize(100).expireAfterWrite(1, TimeUnit.HOURS).build();
+  public Cache<Long, EventSnapshot> forecastCache(
+      CacheProperties cacheProperties,
+      MeterRegistry meterRegistry,
+      ObjectProvider<SharedCache<Long, EventSnapshot>> sharedEventCache) {
+    var spec = cacheProperties.getEvents();
+    // entries leave when their forecast expires, so whatever is cached is fresh
+    Cache<Long, EventSnapshot> cache =
+        cacheBuilder(spec, CacheWeighers::event)
+            .expireAfter(new ForecastExpiry(spec.getExpireAfterWrite()))
+            .build();
+    // events written on another instance are read again from the shared tier
+    sharedEventCache.ifAvailable(shared -> shared.onInvalidation(cache::invalidate));
+    return CaffeineCacheMetrics.monitor(meterRegistry, cache, "events");
+  }
+
+  @Bean
+  public Cache<LocationKey, LocationForecast> locationForecastCache(
+      CacheProperties cacheProperties,
+      MeterRegistry meterRegistry,
+      ObjectProvider<SharedCache<LocationKey, LocationForecast>> sharedLocationForecastCache) {
+    var spec = cacheProperties.getLocations();
+    var builder = cacheBuilder(spec, CacheWeighers::locationForecast);
+    if (spec.getExpireAfterWrite() != null) {
+      // entries outlive their Expires header so they can be revalidated with If-Modified-Since
+      builder.expireAfterWrite(spec.getExpireAfterWrite());
+    }
+    Cache<LocationKey, LocationForecast> cache = builder.build();
+    sharedLocationForecastCache.ifAvailable(shared -> shared.onInvalidation(cache::invalidate));
+    return CaffeineCacheMetrics.monitor(meterRegistry, cache, "locationForecasts");
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "spond.cache.shared", name = "type", havingValue = "in-process")
+  public SharedCache<Long, EventSnapshot> sharedEventCache(CacheProperties cacheProperties) {
+    var expiry = new ForecastExpiry(cacheProperties.getEvents().getExpireAfterWrite());
+    return new InProcessSharedCache<>(expiry::timeToLive);
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "spond.cache.shared", name = "type", havingValue = "in-process")
+  public SharedCache<LocationKey, LocationForecast> sharedLocationForecastCache(
+      CacheProperties cacheProperties) {
+    var expireAfterWrite = cacheProperties.getLocations().getExpireAfterWrite();
+    return new InProcessSharedCache<>(
+        locationForecast -> {
+          if (expireAfterWrite != null) {
+            return expireAfterWrite;
+          }
+          var expiresAt = locationForecast.getExpiresAt();
+          return expiresAt == null ? Duration.ZERO : Duration.between(Instant.now(), expiresAt);
+        });
+  }
+
+  // size or weight bound from the spec, with hit, miss and eviction stats for the cache.* metrics
+  @SuppressWarnings("unchecked")
+  private static <K, V> Caffeine<K, V> cacheBuilder(
+      CacheProperties.Spec spec, Weigher<? super K, ? super V> weigher) {
+    var builder = (Caffeine<K, V>) Caffeine.newBuilder().recordStats();
+    if (spec.getMaximumWeight() != null) {
+      return builder.maximumWeight(spec.getMaximumWeight()).weigher(weigher);
+    }
+    return builder.maximumSize(spec.getMaximumSize());
+  }
+
+  @Bean
+  public AsyncTaskExecutor forecastRefreshExecutor(
+      ForecastProperties forecastProperties, Environment environment) {
+    return executor(
+        environment,
+        "forecast-refresh-",
+        forecastProperties.getStaleWhileRevalidate().getConcurrency());
+  }
+
+  private static AsyncTaskExecutor executor(
+      Environment environment, String threadNamePrefix, int threads) {
+    if (Threading.VIRTUAL.isActive(environment)) {
+      // spring.threads.virtual.enabled: a virtual thread per task, upstream calls are bounded by
+      // forecastRequestLimiter rather than by the number of threads
+      var executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+      executor.setVirtualThreads(true);
+      return executor;
+    }
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setThreadNamePrefix(threadNamePrefix);
+    return executor;
   }
 }
@@ -0,0 +1,68 @@
+package com.junaid.spond.configs;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spond.cache")
+public class CacheProperties {
+  // events served by GET /api/events/{id}, each expires with its forecast
+  private Spec events = new Spec(100, null);
+
+  // MET timeseries per coordinate cell, shared by every event at that cell
+  private Spec locations = new Spec(1000, Duration.ofHours(12));
+
+  // keep the JSON body and ETag of events read again while cached, so later hits skip
+  // serialization and write those bytes as they are
+  private boolean serializedEvents = false;
+
+  // second tier behind both caches, shared by every instance
+  private Shared shared = new Shared();
+
+  // filling the events cache on startup, before the app reports ready
+  private WarmUp warmUp = new WarmUp();
+
+  @Getter
+  @Setter
+  public static class Spec {
+    // maximum number of entries, used unless maximum-weight is set
+    private long maximumSize;
+
+    // maximum estimated size of all entries in bytes, replaces maximum-size when set
+    private Long maximumWeight;
+
+    // upper bound on how long an entry is kept after it was written
+    private Duration expireAfterWrite;
+
+    public Spec() {}
+
+    Spec(long maximumSize, Duration expireAfterWrite) {
+      this.maximumSize = maximumSize;
+      this.expireAfterWrite = expireAfterWrite;
+    }
+  }
+
+  @Getter
+  @Setter
+  public static class WarmUp {
+    // load upcoming events with valid forecasts into the cache with one query
+    private boolean enabled = true;
+
+    // most events loaded, the soonest first. more than the cache holds would only be evicted
+    private int maxEvents = 100;
+
+    // also fetch the expired forecasts of upcoming events, in parallel, before reporting ready
+    private boolean prefetchExpired = false;
+  }
+
+  @Getter
+  @Setter
+  public static class Shared {
+    // none, or in-process for the stand-in that only shares within this JVM. a real shared cache
+    // is plugged in by defining SharedCache beans instead
+    private String type = "none";
+  }
+}
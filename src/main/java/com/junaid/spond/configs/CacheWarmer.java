@@ -0,0 +1,71 @@
+package com.junaid.spond.configs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.junaid.spond.mappers.EventMapper;
+import com.junaid.spond.models.EventSnapshot;
+import com.junaid.spond.repositories.EventRepository;
+import com.junaid.spond.services.ForecastRefreshService;
+import java.time.Instant;
+import java.util.HashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the events cache after a restart so the first reads of upcoming events don't each pay for a
+ * database read. Runs after the seed data and before the app reports ready, spring only moves the
+ * readiness state to ACCEPTING_TRAFFIC once every runner returned.
+ */
+@Component
+@Order(2)
+@Slf4j
+public class CacheWarmer implements CommandLineRunner {
+  @Autowired private EventRepository eventRepository;
+
+  @Autowired private Cache<Long, EventSnapshot> forecastCache;
+
+  @Autowired private CacheProperties cacheProperties;
+
+  @Autowired private ForecastProperties forecastProperties;
+
+  // absent when spond.forecast.refresh.enabled is false
+  @Autowired(required = false)
+  private ForecastRefreshService forecastRefreshService;
+
+  @Override
+  public void run(String... args) {
+    var warmUp = cacheProperties.getWarmUp();
+    if (!warmUp.isEnabled()) {
+      return;
+    }
+
+    if (warmUp.isPrefetchExpired()) {
+      if (forecastRefreshService == null) {
+        log.warn("Not prefetching expired forecasts, the forecast refresher is disabled");
+      } else {
+        // the refresher fetches them in parallel and caches what it refreshed, in the shared tier
+        // too, the other instances pick up the newer forecasts from there
+        forecastRefreshService.refreshExpiringForecasts();
+      }
+    }
+
+    // one query for every event a reader would find in the cache. these are only put locally,
+    // writing them to the shared tier would make the other instances drop their copies
+    var now = Instant.now();
+    var events =
+        eventRepository.findWithValidForecasts(
+            now,
+            now,
+            now.plus(forecastProperties.getRefresh().getHorizon()),
+            Limit.of(warmUp.getMaxEvents()));
+    var snapshots = new HashMap<Long, EventSnapshot>();
+    for (var event : events) {
+      snapshots.put(event.getId(), EventMapper.toSnapshot(event));
+    }
+    forecastCache.putAll(snapshots);
+    log.info("Warmed up the events cache with {} upcoming events", snapshots.size());
+  }
+}
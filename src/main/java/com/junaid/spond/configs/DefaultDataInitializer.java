@@ -6,9 +6,11 @@ import java.time.Duration;
 import java.time.Instant;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 @Component
+@Order(1)
 public class DefaultDataInitializer implements CommandLineRunner {
   @Autowired private EventRepository eventRepository;
 
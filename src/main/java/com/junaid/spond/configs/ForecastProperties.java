@@ -0,0 +1,100 @@
+package com.junaid.spond.configs;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spond.forecast")
+public class ForecastProperties {
+  private Client client = new Client();
+  private Retry retry = new Retry();
+  private CircuitBreaker circuitBreaker = new CircuitBreaker();
+  private Refresh refresh = new Refresh();
+  private StaleWhileRevalidate staleWhileRevalidate = new StaleWhileRevalidate();
+  private WriteBehind writeBehind = new WriteBehind();
+
+  @Getter
+  @Setter
+  public static class Client {
+    // MET locationforecast compact endpoint, lat and lon are appended as query parameters
+    private String baseUrl = "https://api.met.no/weatherapi/locationforecast/2.0/compact";
+
+    // upstream calls allowed in flight at once across requests and the refresher
+    private int maxConcurrentRequests = 8;
+
+    // time allowed to open a connection to api.met.no
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    // time allowed for a whole request, from sending it until the last byte of the body
+    private Duration requestTimeout = Duration.ofSeconds(5);
+
+    // threads that complete fetches and parse responses, no thread waits on the network
+    private int threads = 2;
+  }
+
+  @Getter
+  @Setter
+  public static class Retry {
+    // attempts per fetch, including the first one
+    private int maxAttempts = 3;
+
+    // backoff cap before the second attempt, doubled for each later one. the actual wait is a
+    // random time up to the cap so retries from many requests don't arrive together
+    private Duration initialBackoff = Duration.ofMillis(200);
+
+    // upper bound of the backoff cap
+    private Duration maxBackoff = Duration.ofSeconds(2);
+  }
+
+  @Getter
+  @Setter
+  public static class CircuitBreaker {
+    // failed attempts in a row that open the circuit
+    private int failureThreshold = 5;
+
+    // how long an open circuit rejects calls before letting a probe through
+    private Duration openDuration = Duration.ofSeconds(30);
+  }
+
+  @Getter
+  @Setter
+  public static class Refresh {
+    // turn the background refresher on or off
+    private boolean enabled = true;
+
+    // refresh forecasts that expire within this window, before a reader finds them expired
+    private Duration leadTime = Duration.ofMinutes(10);
+
+    // only events starting within this window get forecast data
+    private Duration horizon = Duration.ofDays(7);
+
+    // number of events loaded and written back together
+    private int batchSize = 50;
+  }
+
+  @Getter
+  @Setter
+  public static class StaleWhileRevalidate {
+    // serve the last known forecast right away and revalidate it in the background
+    private boolean enabled = false;
+
+    // forecasts expired for longer than this are fetched synchronously again
+    private Duration maxStaleness = Duration.ofHours(6);
+
+    // threads revalidating stale forecasts in the background, unused in virtual thread mode
+    private int concurrency = 4;
+  }
+
+  @Getter
+  @Setter
+  public static class WriteBehind {
+    // how often forecasts fetched by reads are written back to the database
+    private Duration interval = Duration.ofSeconds(1);
+
+    // forecast rows upserted with one batch of MERGE statements, keyed by cell and hour
+    private int batchSize = 100;
+  }
+}
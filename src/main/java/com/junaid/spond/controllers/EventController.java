@@ -1,12 +1,31 @@
 package com.junaid.spond.controllers;
 
+import com.junaid.spond.dtos.BatchEventResponse;
+import com.junaid.spond.dtos.CursorPageResponse;
+import com.junaid.spond.dtos.EventFilter;
+import com.junaid.spond.dtos.EventLookupRequest;
+import com.junaid.spond.dtos.EventLookupResponse;
 import com.junaid.spond.dtos.EventResponse;
+import com.junaid.spond.dtos.EventSummary;
+import com.junaid.spond.dtos.ExportFormat;
 import com.junaid.spond.dtos.NewEventRequest;
 import com.junaid.spond.dtos.PageableResponse;
+import com.junaid.spond.services.EventExportService;
+import com.junaid.spond.services.EventImportService;
 import com.junaid.spond.services.EventService;
+import com.junaid.spond.utils.HttpCaching;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,11 +34,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/events")
 public class EventController {
   @Autowired private EventService eventService;
+  @Autowired private EventImportService eventImportService;
+  @Autowired private EventExportService eventExportService;
 
   @PostMapping()
   public ResponseEntity<EventResponse> createEvent(
@@ -28,15 +50,112 @@ public class EventController {
     return new ResponseEntity<>(eventResponse, HttpStatus.CREATED);
   }
 
+  @PostMapping(
+      value = "/batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<BatchEventResponse> createEvents(InputStream body) throws IOException {
+    var batchResponse = eventImportService.importEvents(body);
+    // 207 tells the client to look at the per item results
+    var status = batchResponse.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+    return new ResponseEntity<>(batchResponse, status);
+  }
+
+  // streamed from a database cursor while it is written, for dumps of the whole table
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportEvents(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant to,
+      @RequestParam(defaultValue = "ndjson") String format) {
+    var exportFormat = ExportFormat.of(format);
+    var body = eventExportService.exportEvents(from, to, exportFormat);
+    return ResponseEntity.ok()
+        .contentType(exportFormat.getMediaType())
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment()
+                .filename("events." + exportFormat.getExtension())
+                .build()
+                .toString())
+        .cacheControl(CacheControl.noStore())
+        .body(body);
+  }
+
+  // responses carry an ETag, spring answers a matching If-None-Match with 304 and no body
   @GetMapping("/{id}")
-  public ResponseEntity<EventResponse> getEventById(@PathVariable Long id) {
+  public ResponseEntity<?> getEventById(@PathVariable Long id) {
+    // with serialized events on, the cached JSON is copied to the response as it is
+    var serializedEvent = eventService.getSerializedEvent(id);
+    if (serializedEvent != null && serializedEvent.stale()) {
+      return ResponseEntity.ok()
+          .contentType(MediaType.APPLICATION_JSON)
+          .cacheControl(CacheControl.noStore())
+          .body(serializedEvent.json());
+    }
+    if (serializedEvent != null) {
+      return ResponseEntity.ok()
+          .contentType(MediaType.APPLICATION_JSON)
+          .eTag(serializedEvent.etag())
+          .cacheControl(HttpCaching.cacheControl(serializedEvent.forecastExpiresAt()))
+          .body(serializedEvent.json());
+    }
     var eventResponse = eventService.getEventById(id);
-    return ResponseEntity.ok(eventResponse);
+    if (Boolean.TRUE.equals(eventResponse.getForecastStale())) {
+      // the staleness in the body changes every second, don't let anyone keep it
+      return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(eventResponse);
+    }
+    return ResponseEntity.ok()
+        .eTag(HttpCaching.etag(eventResponse))
+        .cacheControl(HttpCaching.cacheControl(eventResponse.getForecastExpiresAt()))
+        .body(eventResponse);
+  }
+
+  // many events in one round trip, e.g. every event shown in a calendar
+  @GetMapping(params = {"ids", "!cursor"})
+  public ResponseEntity<EventLookupResponse> getEventsByIds(@RequestParam List<Long> ids) {
+    return lookupResponse(eventService.getEventsByIds(ids));
   }
 
+  // the same lookup, for id lists too long for a query string
+  @PostMapping("/lookup")
+  public ResponseEntity<EventLookupResponse> lookupEvents(
+      @RequestBody @Valid EventLookupRequest lookupRequest) {
+    return lookupResponse(eventService.getEventsByIds(lookupRequest.getIds()));
+  }
+
+  // the events expire at different times and may be stale, don't let anyone keep the body
+  private static ResponseEntity<EventLookupResponse> lookupResponse(EventLookupResponse events) {
+    return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(events);
+  }
+
+  // new events can join a page at any time, so pages are always revalidated
   @GetMapping()
-  public ResponseEntity<PageableResponse<EventResponse>> getEvents(
-      @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
-    return ResponseEntity.ok(eventService.getEvents(page, size));
+  public ResponseEntity<PageableResponse<EventSummary>> getEvents(
+      EventFilter filter,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "10") int size) {
+    var events = eventService.getEvents(filter, page, size);
+    return ResponseEntity.ok()
+        .eTag(
+            HttpCaching.etag(
+                events.getData(),
+                events.getCurrentPage(),
+                events.getTotalPages(),
+                events.getTotalItems()))
+        .cacheControl(CacheControl.noCache())
+        .body(events);
+  }
+
+  @GetMapping(params = "cursor")
+  public ResponseEntity<CursorPageResponse<EventSummary>> getEventsByCursor(
+      EventFilter filter,
+      @RequestParam String cursor,
+      @RequestParam(defaultValue = "10") int size) {
+    var events = eventService.getEvents(filter, cursor, size);
+    return ResponseEntity.ok()
+        .eTag(HttpCaching.etag(events.getData(), events.getNextCursor()))
+        .cacheControl(CacheControl.noCache())
+        .body(events);
   }
 }
@@ -0,0 +1,15 @@
+package com.junaid.spond.dtos;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BatchEventResponse {
+  private int created;
+  private int failed;
+  private List<BatchItemResult> items;
+}
@@ -0,0 +1,26 @@
+package com.junaid.spond.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.junaid.spond.exceptions.ValidationError;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class BatchItemResult {
+  // position of the item in the submitted array or stream, starting at 0
+  private int index;
+
+  // id of the created event, null when the item was rejected
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Long id;
+
+  @JsonInclude(JsonInclude.Include.NON_EMPTY)
+  @Builder.Default
+  private Map<String, List<ValidationError>> errors = new HashMap<>();
+}
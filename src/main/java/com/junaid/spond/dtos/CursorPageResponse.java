@@ -0,0 +1,15 @@
+package com.junaid.spond.dtos;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+  private List<T> data;
+  // pass back as the cursor parameter to get the next page, null on the last page
+  private String nextCursor;
+}
@@ -0,0 +1,33 @@
+package com.junaid.spond.dtos;
+
+import com.junaid.spond.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/** Position in the event listing ordered by (startDateTime, id), handed to clients opaquely. */
+public record EventCursor(Instant startDateTime, long id) {
+
+  public String encode() {
+    var raw = startDateTime.getEpochSecond() + ":" + startDateTime.getNano() + ":" + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  public static EventCursor decode(String cursor) {
+    try {
+      var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+      var parts = raw.split(":");
+      if (parts.length != 3) {
+        throw new IllegalArgumentException("Unexpected cursor format");
+      }
+      return new EventCursor(
+          Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+          Long.parseLong(parts[2]));
+    } catch (IllegalArgumentException | DateTimeException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.junaid.spond.dtos;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Optional filters for the event listing, bound from query parameters. Coordinates are either a
+ * bounding box (minLat, maxLat, minLon, maxLon) or a center with a radius in kilometres (lat, lon,
+ * radiusKm), not both.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventFilter {
+  // events starting at or after this time
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private Instant from;
+
+  // events starting before this time
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private Instant to;
+
+  private Double minLat;
+  private Double maxLat;
+  private Double minLon;
+  private Double maxLon;
+
+  private Double lat;
+  private Double lon;
+  private Double radiusKm;
+
+  public boolean hasBoundingBox() {
+    return minLat != null || maxLat != null || minLon != null || maxLon != null;
+  }
+
+  public boolean hasRadius() {
+    return lat != null || lon != null || radiusKm != null;
+  }
+}
@@ -0,0 +1,18 @@
+package com.junaid.spond.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventLookupRequest {
+  @NotEmpty(message = "ids are required")
+  private List<@NotNull Long> ids;
+}
@@ -0,0 +1,16 @@
+package com.junaid.spond.dtos;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class EventLookupResponse {
+  // in the order the ids were asked for, each event once
+  private List<EventResponse> data;
+  // ids without an event
+  private List<Long> missingIds;
+}
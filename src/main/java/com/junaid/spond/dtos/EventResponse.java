@@ -1,5 +1,7 @@
 package com.junaid.spond.dtos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.Instant;
 import lombok.Builder;
 import lombok.Getter;
@@ -18,4 +20,16 @@ public class EventResponse {
   private Instant endDateTime;
   private Double airTemperature;
   private Double windSpeed;
+
+  // only set when an expired forecast is served while it is being revalidated
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Boolean forecastStale;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Long forecastStaleSeconds;
+
+  // not part of the body, the controller derives ETag and Cache-Control from them
+  @JsonIgnore private Long version;
+  @JsonIgnore private Instant forecastExpiresAt;
+  @JsonIgnore private Instant forecastLastModifiedAt;
 }
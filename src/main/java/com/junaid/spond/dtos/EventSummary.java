@@ -0,0 +1,22 @@
+package com.junaid.spond.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.Instant;
+
+/**
+ * An event in a list response. Built by the listing query itself, so no entity is loaded or kept in
+ * the persistence context for it. Serializes like {@link EventResponse}.
+ */
+public record EventSummary(
+    Long id,
+    String name,
+    String description,
+    Double latitude,
+    Double longitude,
+    Instant startDateTime,
+    Instant endDateTime,
+    Double airTemperature,
+    Double windSpeed,
+    // not part of the body, the page ETag is derived from them
+    @JsonIgnore Long version,
+    @JsonIgnore Instant forecastLastModifiedAt) {}
@@ -0,0 +1,27 @@
+package com.junaid.spond.dtos;
+
+import com.junaid.spond.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+/** Formats GET /api/events/export can write, chosen with its format parameter. */
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+  NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+  CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+  private final MediaType mediaType;
+  private final String extension;
+
+  public static ExportFormat of(String format) {
+    for (var exportFormat : values()) {
+      if (exportFormat.extension.equalsIgnoreCase(format)) {
+        return exportFormat;
+      }
+    }
+    throw new BadRequestException("format must be ndjson or csv");
+  }
+}
@@ -1,5 +1,7 @@
 package com.junaid.spond.dtos;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.Instant;
@@ -15,7 +17,13 @@ public class NewEventRequest {
   private String name;
 
   private String description;
+
+  @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+  @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
   private Double longitude;
+
+  @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+  @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
   private Double latitude;
 
   @NotNull(message = "Start date and time is required")
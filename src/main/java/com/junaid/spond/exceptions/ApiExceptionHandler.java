@@ -11,6 +11,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @ControllerAdvice
 @Slf4j
@@ -31,6 +32,39 @@ public class ApiExceptionHandler {
     return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
   }
 
+  @ExceptionHandler(BadRequestException.class)
+  public ResponseEntity<ErrorResponse> handleBadRequestException(
+      BadRequestException ex, HttpServletRequest request) {
+    var error =
+        ErrorResponse.builder()
+            .title("Bad Request")
+            .status(HttpStatus.BAD_REQUEST.value())
+            .message(ex.getMessage())
+            .occurredAt(LocalDateTime.now())
+            .httpMethod(request.getMethod())
+            .path(request.getRequestURI())
+            .build();
+    log.error("Bad Request Exception", ex);
+    return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+  }
+
+  // a request parameter that doesn't convert, e.g. ids=abc
+  @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+  public ResponseEntity<ErrorResponse> handleTypeMismatchException(
+      MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+    var error =
+        ErrorResponse.builder()
+            .title("Bad Request")
+            .status(HttpStatus.BAD_REQUEST.value())
+            .message("Invalid value for " + ex.getName())
+            .occurredAt(LocalDateTime.now())
+            .httpMethod(request.getMethod())
+            .path(request.getRequestURI())
+            .build();
+    log.error("Bad Request Exception", ex);
+    return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<ErrorResponse> handleValidationException(
       MethodArgumentNotValidException ex, HttpServletRequest request) {
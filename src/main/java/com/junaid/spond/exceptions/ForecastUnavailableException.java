@@ -0,0 +1,11 @@
+package com.junaid.spond.exceptions;
+
+public class ForecastUnavailableException extends RuntimeException {
+  public ForecastUnavailableException(String message) {
+    super(message);
+  }
+
+  public ForecastUnavailableException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -3,15 +3,19 @@ package com.junaid.spond.mappers;
 import com.junaid.spond.dtos.EventResponse;
 import com.junaid.spond.dtos.NewEventRequest;
 import com.junaid.spond.models.Event;
-import java.util.List;
+import com.junaid.spond.models.EventSnapshot;
+import com.junaid.spond.models.Forecast;
+import com.junaid.spond.models.ForecastData;
+import com.junaid.spond.models.ForecastKey;
+import com.junaid.spond.utils.Coordinates;
 
 public class EventMapper {
   public static Event toEntity(NewEventRequest newEventRequest) {
     return Event.builder()
         .name(newEventRequest.getName())
         .description(newEventRequest.getDescription())
-        .latitude(Double.parseDouble(String.format("%.4f", newEventRequest.getLatitude())))
-        .longitude(Double.parseDouble(String.format("%.4f", newEventRequest.getLongitude())))
+        .latitude(Coordinates.round(newEventRequest.getLatitude()))
+        .longitude(Coordinates.round(newEventRequest.getLongitude()))
         .startDateTime(newEventRequest.getStartDateTime())
         .endDateTime(newEventRequest.getEndDateTime())
         .build();
@@ -28,10 +32,61 @@ public class EventMapper {
         .endDateTime(event.getEndDateTime())
         .airTemperature(event.getAirTemperature())
         .windSpeed(event.getWindSpeed())
+        .version(event.getVersion())
+        .forecastExpiresAt(event.getForecastExpiresAt())
+        .forecastLastModifiedAt(event.getForecastLastModifiedAt())
         .build();
   }
 
-  public static List<EventResponse> toEventResponseList(List<Event> events) {
-    return events.stream().map(EventMapper::toEventResponse).toList();
+  public static EventResponse toEventResponse(EventSnapshot event) {
+    return EventResponse.builder()
+        .id(event.id())
+        .name(event.name())
+        .description(event.description())
+        .latitude(event.latitude())
+        .longitude(event.longitude())
+        .startDateTime(event.startDateTime())
+        .endDateTime(event.endDateTime())
+        .airTemperature(event.airTemperature())
+        .windSpeed(event.windSpeed())
+        .version(event.version())
+        .forecastExpiresAt(event.forecastExpiresAt())
+        .forecastLastModifiedAt(event.forecastLastModifiedAt())
+        .build();
+  }
+
+  public static EventSnapshot toSnapshot(Event event) {
+    return new EventSnapshot(
+        event.getId(),
+        event.getVersion(),
+        event.getName(),
+        event.getDescription(),
+        event.getLatitude(),
+        event.getLongitude(),
+        event.getStartDateTime(),
+        event.getEndDateTime(),
+        event.getAirTemperature(),
+        event.getWindSpeed(),
+        event.getForecastExpiresAt(),
+        event.getForecastLastModifiedAt(),
+        null);
+  }
+
+  public static Event applyForecast(Event event, ForecastData forecastData) {
+    event.setAirTemperature(forecastData.getAirTemperature());
+    event.setWindSpeed(forecastData.getWindSpeed());
+    event.setForecastExpiresAt(forecastData.getForecastExpiresAt());
+    event.setForecastLastModifiedAt(forecastData.getForecastLastModifiedAt());
+    return event;
+  }
+
+  public static Forecast toForecast(ForecastKey key, ForecastData forecastData) {
+    return Forecast.builder()
+        .id(key)
+        .airTemperature(forecastData.getAirTemperature())
+        .windSpeed(forecastData.getWindSpeed())
+        .expiresAt(forecastData.getForecastExpiresAt())
+        .lastModifiedAt(forecastData.getForecastLastModifiedAt())
+        .build();
   }
 }
@@ -4,7 +4,15 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import java.time.Instant;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -17,11 +25,22 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(
+    indexes = {
+      @Index(name = "idx_event_start_id", columnList = "startDateTime, id"),
+      @Index(name = "idx_event_lat_lon", columnList = "latitude, longitude")
+    })
 public class Event {
   @Id
-  @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
+  // a pooled sequence hands out 50 ids per round trip and, unlike IDENTITY, lets hibernate
+  // batch the inserts
+  @GeneratedValue(strategy = jakarta.persistence.GenerationType.SEQUENCE, generator = "event_seq")
+  @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
   private Long id;
 
+  // bumped by hibernate on every update, part of the ETag clients revalidate with
+  @Version private Long version;
+
   private String name;
   private String description;
   private Double latitude;
@@ -33,12 +52,37 @@ public class Event {
   @Column(columnDefinition = "TIMESTAMP WITH TIME ZONE")
   private Instant endDateTime;
 
-  private Double airTemperature;
-  private Double windSpeed;
+  // key of the shared forecast row, stored so queries can join it. derived from the coordinates
+  // and start time whenever the event is written
+  @Setter(AccessLevel.NONE)
+  @Column(name = "forecast_latitude_e4")
+  private Integer forecastLatitudeE4;
 
-  @Column(columnDefinition = "TIMESTAMP WITH TIME ZONE")
-  private Instant forecastExpiresAt;
+  @Setter(AccessLevel.NONE)
+  @Column(name = "forecast_longitude_e4")
+  private Integer forecastLongitudeE4;
 
+  @Setter(AccessLevel.NONE)
   @Column(columnDefinition = "TIMESTAMP WITH TIME ZONE")
-  private Instant forecastLastModifiedAt;
+  private Instant forecastHour;
+
+  // not stored with the event, filled in from its Forecast row when read
+  @Transient private Double airTemperature;
+  @Transient private Double windSpeed;
+  @Transient private Instant forecastExpiresAt;
+  @Transient private Instant forecastLastModifiedAt;
+
+  /** Key of the forecast row this event reads, null when it has no coordinates or start time. */
+  public ForecastKey forecastKey() {
+    return ForecastKey.of(latitude, longitude, startDateTime);
+  }
+
+  @PrePersist
+  @PreUpdate
+  void updateForecastKey() {
+    var key = forecastKey();
+    forecastLatitudeE4 = key == null ? null : key.latitudeE4();
+    forecastLongitudeE4 = key == null ? null : key.longitudeE4();
+    forecastHour = key == null ? null : key.forecastHour();
+  }
 }
@@ -0,0 +1,24 @@
+package com.junaid.spond.models;
+
+import java.time.Instant;
+
+/**
+ * An event read together with its forecast row, the forecast columns are null when there is none
+ * yet.
+ */
+public record EventForecastView(
+    Event event,
+    Double airTemperature,
+    Double windSpeed,
+    Instant forecastExpiresAt,
+    Instant forecastLastModifiedAt) {
+
+  /** The event with the forecast filled in. */
+  public Event toEvent() {
+    event.setAirTemperature(airTemperature);
+    event.setWindSpeed(windSpeed);
+    event.setForecastExpiresAt(forecastExpiresAt);
+    event.setForecastLastModifiedAt(forecastLastModifiedAt);
+    return event;
+  }
+}
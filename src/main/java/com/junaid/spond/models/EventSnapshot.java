@@ -0,0 +1,42 @@
+package com.junaid.spond.models;
+
+import java.time.Instant;
+
+/**
+ * Immutable copy of an event as it is cached. Unlike the JPA entity it is never attached to a
+ * persistence context or changed after it is built, so cache hits can share it between threads.
+ * {@code serialized} is filled in once the event is read again while cached, every write of the
+ * event replaces the snapshot and so drops it.
+ */
+public record EventSnapshot(
+    long id,
+    Long version,
+    String name,
+    String description,
+    Double latitude,
+    Double longitude,
+    Instant startDateTime,
+    Instant endDateTime,
+    Double airTemperature,
+    Double windSpeed,
+    Instant forecastExpiresAt,
+    Instant forecastLastModifiedAt,
+    SerializedEvent serialized) {
+
+  public EventSnapshot withSerialized(SerializedEvent serialized) {
+    return new EventSnapshot(
+        id,
+        version,
+        name,
+        description,
+        latitude,
+        longitude,
+        startDateTime,
+        endDateTime,
+        airTemperature,
+        windSpeed,
+        forecastExpiresAt,
+        forecastLastModifiedAt,
+        serialized);
+  }
+}
@@ -0,0 +1,34 @@
+package com.junaid.spond.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Forecast for one coordinate cell and hour, shared by every event there. Refreshing it doesn't
+ * touch the event rows, they are joined with it when read.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Forecast {
+  @EmbeddedId private ForecastKey id;
+
+  private Double airTemperature;
+  private Double windSpeed;
+
+  @Column(columnDefinition = "TIMESTAMP WITH TIME ZONE")
+  private Instant expiresAt;
+
+  @Column(columnDefinition = "TIMESTAMP WITH TIME ZONE")
+  private Instant lastModifiedAt;
+}
@@ -0,0 +1,33 @@
+package com.junaid.spond.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Key of a stored forecast: the coordinate cell, as in {@link LocationKey}, and the hour the
+ * forecast is for. Every event at that cell starting closest to that hour shares the row.
+ */
+@Embeddable
+public record ForecastKey(
+    @Column(name = "latitude_e4") int latitudeE4,
+    @Column(name = "longitude_e4") int longitudeE4,
+    @Column(columnDefinition = "TIMESTAMP WITH TIME ZONE") Instant forecastHour) {
+
+  /** Key of an event's forecast, null when it has no coordinates or start time. */
+  public static ForecastKey of(Double latitude, Double longitude, Instant startDateTime) {
+    if (latitude == null || longitude == null || startDateTime == null) {
+      return null;
+    }
+    var location = LocationKey.of(latitude, longitude);
+    return new ForecastKey(
+        location.latitudeE4(), location.longitudeE4(), forecastHour(startDateTime));
+  }
+
+  /** The full hour closest to the given time, the forecast an event starting then gets. */
+  public static Instant forecastHour(Instant time) {
+    return time.plus(Duration.ofMinutes(30)).truncatedTo(ChronoUnit.HOURS);
+  }
+}
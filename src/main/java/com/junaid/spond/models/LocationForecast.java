@@ -0,0 +1,72 @@
+package com.junaid.spond.models;
+
+import java.time.Instant;
+import java.util.Arrays;
+import lombok.Getter;
+
+/**
+ * Full MET timeseries for one coordinate cell. Every event at that cell picks its own timestep from
+ * this shared copy.
+ */
+@Getter
+public class LocationForecast {
+  // timestep times as epoch seconds, in ascending order
+  private final long[] times;
+  // NaN where a timestep has no value
+  private final double[] airTemperatures;
+  private final double[] windSpeeds;
+  private final Instant expiresAt;
+  private final Instant lastModifiedAt;
+
+  public LocationForecast(
+      long[] times,
+      double[] airTemperatures,
+      double[] windSpeeds,
+      Instant expiresAt,
+      Instant lastModifiedAt) {
+    this.times = times;
+    this.airTemperatures = airTemperatures;
+    this.windSpeeds = windSpeeds;
+    this.expiresAt = expiresAt;
+    this.lastModifiedAt = lastModifiedAt;
+  }
+
+  public boolean isExpired(Instant now) {
+    return expiresAt == null || now.isAfter(expiresAt);
+  }
+
+  /** Same timeseries with a new expiry, used when MET answers 304 Not Modified. */
+  public LocationForecast withExpiresAt(Instant newExpiresAt) {
+    return new LocationForecast(times, airTemperatures, windSpeeds, newExpiresAt, lastModifiedAt);
+  }
+
+  public ForecastData forecastAt(Instant time) {
+    var closest = closestIndex(time.getEpochSecond());
+    return ForecastData.builder()
+        .airTemperature(valueOrNull(airTemperatures[closest]))
+        .windSpeed(valueOrNull(windSpeeds[closest]))
+        .forecastExpiresAt(expiresAt)
+        .forecastLastModifiedAt(lastModifiedAt)
+        .build();
+  }
+
+  private int closestIndex(long target) {
+    var index = Arrays.binarySearch(times, target);
+    if (index >= 0) {
+      return index;
+    }
+    // the timesteps on either side of the insertion point are the candidates
+    var after = -index - 1;
+    if (after == 0) {
+      return 0;
+    }
+    if (after == times.length) {
+      return times.length - 1;
+    }
+    return target - times[after - 1] <= times[after] - target ? after - 1 : after;
+  }
+
+  private static Double valueOrNull(double value) {
+    return Double.isNaN(value) ? null : value;
+  }
+}
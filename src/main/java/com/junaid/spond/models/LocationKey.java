@@ -0,0 +1,24 @@
+package com.junaid.spond.models;
+
+import com.junaid.spond.utils.Coordinates;
+
+/** Coordinate cell of a forecast, latitude and longitude in 1/10000 degree like events are. */
+public record LocationKey(int latitudeE4, int longitudeE4) {
+
+  public static LocationKey of(double latitude, double longitude) {
+    return new LocationKey(Coordinates.toFixed(latitude), Coordinates.toFixed(longitude));
+  }
+
+  public String latitude() {
+    return Coordinates.format(latitudeE4);
+  }
+
+  public String longitude() {
+    return Coordinates.format(longitudeE4);
+  }
+
+  @Override
+  public String toString() {
+    return latitude() + "," + longitude();
+  }
+}
@@ -0,0 +1,10 @@
+package com.junaid.spond.models;
+
+import java.time.Instant;
+
+/**
+ * JSON body of an event response together with its ETag and forecast expiry, kept with the cached
+ * event so hits are written out without serializing again. The array is shared and must not be
+ * modified. A stale body is served while its forecast is revalidated, it is never kept.
+ */
+public record SerializedEvent(byte[] json, String etag, Instant forecastExpiresAt, boolean stale) {}
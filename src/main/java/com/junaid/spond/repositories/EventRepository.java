@@ -1,15 +1,66 @@
 package com.junaid.spond.repositories;
 
 import com.junaid.spond.models.Event;
+import com.junaid.spond.models.EventForecastView;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository
+    extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventSummaryRepository {
 
-  @Query("SELECT e.id FROM Event e WHERE e.forecastExpiresAt < :now")
-  List<Long> findIdsWithExpiredForecasts(Instant now);
+  // events and their forecast rows, joined on the cell and hour stored with the event
+  String WITH_FORECAST =
+      "SELECT new com.junaid.spond.models.EventForecastView(e, f.airTemperature, f.windSpeed,"
+          + " f.expiresAt, f.lastModifiedAt) FROM Event e LEFT JOIN Forecast f"
+          + " ON f.id.latitudeE4 = e.forecastLatitudeE4"
+          + " AND f.id.longitudeE4 = e.forecastLongitudeE4"
+          + " AND f.id.forecastHour = e.forecastHour";
+
+  @Query(WITH_FORECAST + " WHERE e.id = :id")
+  Optional<EventForecastView> findViewById(Long id);
+
+  @Query(WITH_FORECAST + " WHERE e.id IN :ids")
+  List<EventForecastView> findViewsByIdIn(Collection<Long> ids);
+
+  @Query(
+      WITH_FORECAST
+          + " WHERE e.startDateTime > :startFrom AND e.startDateTime < :startTo"
+          + " AND f.expiresAt > :expiresAfter ORDER BY e.startDateTime")
+  List<EventForecastView> findViewsWithValidForecasts(
+      Instant expiresAfter, Instant startFrom, Instant startTo, Limit limit);
+
+  @Query(
+      "SELECT e.id FROM Event e LEFT JOIN Forecast f"
+          + " ON f.id.latitudeE4 = e.forecastLatitudeE4"
+          + " AND f.id.longitudeE4 = e.forecastLongitudeE4"
+          + " AND f.id.forecastHour = e.forecastHour"
+          + " WHERE e.startDateTime > :startFrom AND e.startDateTime < :startTo"
+          + " AND e.latitude IS NOT NULL AND e.longitude IS NOT NULL"
+          + " AND (f.expiresAt IS NULL OR f.expiresAt < :expiresBefore)"
+          + " ORDER BY e.startDateTime")
+  List<Long> findIdsWithExpiredForecasts(Instant expiresBefore, Instant startFrom, Instant startTo);
+
+  /** The event with its forecast, the plain findById leaves the forecast fields empty. */
+  default Optional<Event> findWithForecastById(Long id) {
+    return findViewById(id).map(EventForecastView::toEvent);
+  }
+
+  default List<Event> findAllWithForecastById(Collection<Long> ids) {
+    return findViewsByIdIn(ids).stream().map(EventForecastView::toEvent).toList();
+  }
+
+  default List<Event> findWithValidForecasts(
+      Instant expiresAfter, Instant startFrom, Instant startTo, Limit limit) {
+    return findViewsWithValidForecasts(expiresAfter, startFrom, startTo, limit).stream()
+        .map(EventForecastView::toEvent)
+        .toList();
+  }
 }
@@ -0,0 +1,77 @@
+package com.junaid.spond.repositories;
+
+import com.junaid.spond.dtos.EventCursor;
+import com.junaid.spond.dtos.EventFilter;
+import com.junaid.spond.models.Event;
+import jakarta.persistence.criteria.Predicate;
+import java.time.Instant;
+import java.util.ArrayList;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Listing predicates. Every filter is a plain range on an indexed column (idx_event_start_id for
+ * time, idx_event_lat_lon for coordinates) so the database can seek instead of scanning.
+ */
+public class EventSpecifications {
+  // order used by the keyset cursor, matches idx_event_start_id
+  public static final Sort KEYSET_ORDER = Sort.by("startDateTime", "id");
+
+  private static final double EARTH_RADIUS_KM = 6371.0;
+  private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+  private EventSpecifications() {}
+
+  public static Specification<Event> matching(EventFilter filter) {
+    return (root, query, cb) -> {
+      var predicates = new ArrayList<Predicate>();
+      var start = root.<Instant>get("startDateTime");
+      var latitude = root.<Double>get("latitude");
+      var longitude = root.<Double>get("longitude");
+
+      if (filter.getFrom() != null) {
+        predicates.add(cb.greaterThanOrEqualTo(start, filter.getFrom()));
+      }
+      if (filter.getTo() != null) {
+        predicates.add(cb.lessThan(start, filter.getTo()));
+      }
+      if (filter.hasBoundingBox()) {
+        predicates.add(cb.between(latitude, filter.getMinLat(), filter.getMaxLat()));
+        predicates.add(cb.between(longitude, filter.getMinLon(), filter.getMaxLon()));
+      }
+      if (filter.hasRadius()) {
+        var radiusDegrees = filter.getRadiusKm() / KM_PER_DEGREE;
+        var cosLat = Math.cos(Math.toRadians(filter.getLat()));
+        // the enclosing box is what the index can use, the distance check below trims its corners
+        var lonDegrees = cosLat < 1e-6 ? 180.0 : Math.min(180.0, radiusDegrees / cosLat);
+        predicates.add(
+            cb.between(
+                latitude,
+                Math.max(-90.0, filter.getLat() - radiusDegrees),
+                Math.min(90.0, filter.getLat() + radiusDegrees)));
+        predicates.add(
+            cb.between(
+                longitude,
+                Math.max(-180.0, filter.getLon() - lonDegrees),
+                Math.min(180.0, filter.getLon() + lonDegrees)));
+
+        // equirectangular distance, accurate to well under a percent at event search radii
+        var dLat = cb.diff(latitude, filter.getLat());
+        var dLon = cb.prod(cb.diff(longitude, filter.getLon()), cosLat);
+        predicates.add(
+            cb.le(cb.sum(cb.prod(dLat, dLat), cb.prod(dLon, dLon)), radiusDegrees * radiusDegrees));
+      }
+      return cb.and(predicates.toArray(Predicate[]::new));
+    };
+  }
+
+  /** Events strictly after the cursor position in {@link #KEYSET_ORDER}. */
+  public static Specification<Event> after(EventCursor cursor) {
+    return (root, query, cb) -> {
+      var start = root.<Instant>get("startDateTime");
+      return cb.or(
+          cb.greaterThan(start, cursor.startDateTime()),
+          cb.and(cb.equal(start, cursor.startDateTime()), cb.gt(root.get("id"), cursor.id())));
+    };
+  }
+}
@@ -0,0 +1,25 @@
+package com.junaid.spond.repositories;
+
+import com.junaid.spond.dtos.EventSummary;
+import com.junaid.spond.models.Event;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EventSummaryRepository {
+
+  /**
+   * The matching events with their forecasts, projected straight into summaries in one query. Reads
+   * only the page's offset and size, the total is left to {@code count(specification)}.
+   */
+  List<EventSummary> findSummaries(Specification<Event> specification, Pageable pageable);
+
+  /**
+   * Every matching event, read through a forward only cursor that fetches {@code fetchSize} rows at
+   * a time. The stream has to be consumed and closed inside the caller's transaction.
+   */
+  Stream<EventSummary> streamSummaries(
+      Specification<Event> specification, Sort sort, int fetchSize);
+}
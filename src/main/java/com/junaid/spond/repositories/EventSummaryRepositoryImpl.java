@@ -0,0 +1,77 @@
+package com.junaid.spond.repositories;
+
+import com.junaid.spond.dtos.EventSummary;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.models.Forecast;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.sqm.tree.SqmJoinType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+// jakarta's @Transactional can't mark a transaction read only, spring's can
+@Transactional(readOnly = true)
+class EventSummaryRepositoryImpl implements EventSummaryRepository {
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public List<EventSummary> findSummaries(Specification<Event> specification, Pageable pageable) {
+    var query = entityManager.createQuery(summaries(specification, pageable.getSort()));
+    if (pageable.isPaged()) {
+      query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+      query.setMaxResults(pageable.getPageSize());
+    }
+    return query.getResultList();
+  }
+
+  @Override
+  public Stream<EventSummary> streamSummaries(
+      Specification<Event> specification, Sort sort, int fetchSize) {
+    // a forward only scroll, summaries are not entities so nothing piles up in the session
+    return entityManager
+        .createQuery(summaries(specification, sort))
+        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+        .getResultStream();
+  }
+
+  private CriteriaQuery<EventSummary> summaries(Specification<Event> specification, Sort sort) {
+    var cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+    var query = cb.createQuery(EventSummary.class);
+    var event = query.from(Event.class);
+    // same join as EventRepository.WITH_FORECAST
+    var forecast = event.join(Forecast.class, SqmJoinType.LEFT);
+    forecast.on(
+        cb.equal(forecast.get("id").get("latitudeE4"), event.get("forecastLatitudeE4")),
+        cb.equal(forecast.get("id").get("longitudeE4"), event.get("forecastLongitudeE4")),
+        cb.equal(forecast.get("id").get("forecastHour"), event.get("forecastHour")));
+
+    query.select(
+        cb.construct(
+            EventSummary.class,
+            event.get("id"),
+            event.get("name"),
+            event.get("description"),
+            event.get("latitude"),
+            event.get("longitude"),
+            event.get("startDateTime"),
+            event.get("endDateTime"),
+            forecast.get("airTemperature"),
+            forecast.get("windSpeed"),
+            event.get("version"),
+            forecast.get("lastModifiedAt")));
+    var predicate = specification.toPredicate(event, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.orderBy(QueryUtils.toOrders(sort, event, cb));
+    return query;
+  }
+}
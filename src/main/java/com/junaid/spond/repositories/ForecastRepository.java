@@ -0,0 +1,10 @@
+package com.junaid.spond.repositories;
+
+import com.junaid.spond.models.Forecast;
+import com.junaid.spond.models.ForecastKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ForecastRepository
+    extends JpaRepository<Forecast, ForecastKey>, ForecastUpsertRepository {}
@@ -0,0 +1,13 @@
+package com.junaid.spond.repositories;
+
+import com.junaid.spond.models.Forecast;
+import java.util.Collection;
+
+public interface ForecastUpsertRepository {
+
+  /**
+   * Inserts or updates the given forecasts with one batch of MERGE statements. A stored forecast
+   * that expires later than the given one is left as it is.
+   */
+  void upsertAll(Collection<Forecast> forecasts);
+}
@@ -0,0 +1,66 @@
+package com.junaid.spond.repositories;
+
+import com.junaid.spond.models.Forecast;
+import jakarta.transaction.Transactional;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ForecastUpsertRepositoryImpl implements ForecastUpsertRepository {
+  // one narrow row per cell and hour, events are never written
+  private static final String UPSERT_FORECAST =
+      "MERGE INTO forecast f USING (VALUES (CAST(? AS INTEGER), CAST(? AS INTEGER),"
+          + " CAST(? AS TIMESTAMP WITH TIME ZONE), CAST(? AS DOUBLE PRECISION),"
+          + " CAST(? AS DOUBLE PRECISION), CAST(? AS TIMESTAMP WITH TIME ZONE),"
+          + " CAST(? AS TIMESTAMP WITH TIME ZONE)))"
+          + " AS s (latitude_e4, longitude_e4, forecast_hour, air_temperature, wind_speed,"
+          + " expires_at, last_modified_at)"
+          + " ON f.latitude_e4 = s.latitude_e4 AND f.longitude_e4 = s.longitude_e4"
+          + " AND f.forecast_hour = s.forecast_hour"
+          + " WHEN MATCHED AND (f.expires_at IS NULL OR f.expires_at <= s.expires_at) THEN"
+          + " UPDATE SET air_temperature = s.air_temperature, wind_speed = s.wind_speed,"
+          + " expires_at = s.expires_at, last_modified_at = s.last_modified_at"
+          + " WHEN NOT MATCHED THEN INSERT (latitude_e4, longitude_e4, forecast_hour,"
+          + " air_temperature, wind_speed, expires_at, last_modified_at)"
+          + " VALUES (s.latitude_e4, s.longitude_e4, s.forecast_hour, s.air_temperature,"
+          + " s.wind_speed, s.expires_at, s.last_modified_at)";
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Override
+  @Transactional
+  public void upsertAll(Collection<Forecast> forecasts) {
+    var rows = List.copyOf(forecasts);
+    if (rows.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        UPSERT_FORECAST,
+        rows,
+        rows.size(),
+        (statement, forecast) -> {
+          statement.setInt(1, forecast.getId().latitudeE4());
+          statement.setInt(2, forecast.getId().longitudeE4());
+          setInstant(statement, 3, forecast.getId().forecastHour());
+          statement.setObject(4, forecast.getAirTemperature(), Types.DOUBLE);
+          statement.setObject(5, forecast.getWindSpeed(), Types.DOUBLE);
+          setInstant(statement, 6, forecast.getExpiresAt());
+          setInstant(statement, 7, forecast.getLastModifiedAt());
+        });
+  }
+
+  private static void setInstant(PreparedStatement statement, int index, Instant instant)
+      throws SQLException {
+    statement.setObject(
+        index,
+        instant == null ? null : OffsetDateTime.ofInstant(instant, ZoneOffset.UTC),
+        Types.TIMESTAMP_WITH_TIMEZONE);
+  }
+}
@@ -0,0 +1,136 @@
+package com.junaid.spond.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.junaid.spond.dtos.EventFilter;
+import com.junaid.spond.dtos.EventSummary;
+import com.junaid.spond.dtos.ExportFormat;
+import com.junaid.spond.exceptions.BadRequestException;
+import com.junaid.spond.repositories.EventRepository;
+import com.junaid.spond.repositories.EventSpecifications;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Dumps events as NDJSON or CSV. Rows come from a database cursor and are written to the response
+ * as they are read, so memory use stays the same however many events there are.
+ */
+@Service
+@Slf4j
+public class EventExportService {
+  private static final String CSV_HEADER =
+      "id,name,description,latitude,longitude,startDateTime,endDateTime,airTemperature,windSpeed";
+
+  @Autowired private EventRepository eventRepository;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  // rows the driver reads per round trip, bounds what the cursor holds at once
+  @Value("${spond.export.fetch-size:500}")
+  private int fetchSize;
+
+  /**
+   * Checks the time range and returns the body that writes the matching events, ordered by start
+   * time and id. Nothing is read before the body is written.
+   */
+  public StreamingResponseBody exportEvents(Instant from, Instant to, ExportFormat format) {
+    if (from != null && to != null && !from.isBefore(to)) {
+      throw new BadRequestException("from must be before to");
+    }
+    var filter = EventFilter.builder().from(from).to(to).build();
+    return out -> {
+      // the body is written after the handler returned, so the transaction is opened here. a read
+      // only one keeps the cursor open without a flush or dirty check
+      var transaction = new TransactionTemplate(transactionManager);
+      transaction.setReadOnly(true);
+      var exported =
+          transaction.execute(
+              status -> {
+                try (var events =
+                    eventRepository.streamSummaries(
+                        EventSpecifications.matching(filter),
+                        EventSpecifications.KEYSET_ORDER,
+                        fetchSize)) {
+                  return format == ExportFormat.CSV
+                      ? writeCsv(events, out)
+                      : writeNdjson(events, out);
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              });
+      log.info("Exported {} events as {}", exported, format);
+    };
+  }
+
+  private long writeNdjson(Stream<EventSummary> events, OutputStream out) throws IOException {
+    var count = 0L;
+    // flushing after every value would send each row as its own chunk
+    var writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    try (var generator = objectMapper.getFactory().createGenerator(out)) {
+      // one object per line, not the space jackson puts between root values
+      generator.setRootValueSeparator(null);
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      for (var iterator = events.iterator(); iterator.hasNext(); count++) {
+        writer.writeValue(generator, iterator.next());
+        generator.writeRaw('\n');
+      }
+    }
+    return count;
+  }
+
+  private long writeCsv(Stream<EventSummary> events, OutputStream out) throws IOException {
+    var count = 0L;
+    var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(CSV_HEADER);
+    writer.write("\r\n");
+    for (var iterator = events.iterator(); iterator.hasNext(); count++) {
+      var event = iterator.next();
+      writer.write(String.valueOf(event.id()));
+      writeCsvField(writer, event.name());
+      writeCsvField(writer, event.description());
+      writeCsvField(writer, event.latitude());
+      writeCsvField(writer, event.longitude());
+      writeCsvField(writer, event.startDateTime());
+      writeCsvField(writer, event.endDateTime());
+      writeCsvField(writer, event.airTemperature());
+      writeCsvField(writer, event.windSpeed());
+      writer.write("\r\n");
+    }
+    writer.flush();
+    return count;
+  }
+
+  // RFC 4180: fields with a separator, quote or line break are quoted, quotes are doubled
+  private static void writeCsvField(Writer writer, Object value) throws IOException {
+    writer.write(',');
+    if (value == null) {
+      return;
+    }
+    var text = value.toString();
+    if (text.indexOf(',') < 0
+        && text.indexOf('"') < 0
+        && text.indexOf('\n') < 0
+        && text.indexOf('\r') < 0) {
+      writer.write(text);
+      return;
+    }
+    writer.write('"');
+    writer.write(text.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
@@ -0,0 +1,130 @@
+package com.junaid.spond.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junaid.spond.dtos.BatchEventResponse;
+import com.junaid.spond.dtos.BatchItemResult;
+import com.junaid.spond.dtos.NewEventRequest;
+import com.junaid.spond.exceptions.BadRequestException;
+import com.junaid.spond.exceptions.ValidationError;
+import com.junaid.spond.mappers.EventMapper;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.repositories.EventRepository;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Bulk event creation. Items are read one at a time from a json array or an NDJSON stream,
+ * validated on their own and written in chunks, so a large import never sits in memory at once and
+ * one bad item does not reject the rest.
+ */
+@Service
+@Slf4j
+public class EventImportService {
+  @Autowired private EventRepository eventRepository;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private Validator validator;
+
+  // one chunk is one transaction and, with the pooled sequence, one JDBC batch
+  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+  private int chunkSize;
+
+  public BatchEventResponse importEvents(InputStream body) throws IOException {
+    var results = new ArrayList<BatchItemResult>();
+    var chunk = new ArrayList<Event>(chunkSize);
+    var chunkResults = new ArrayList<BatchItemResult>(chunkSize);
+    var created = 0;
+
+    // readValues walks the elements of a top level array as well as whitespace separated values
+    try (MappingIterator<NewEventRequest> items =
+        objectMapper.readerFor(NewEventRequest.class).readValues(body)) {
+      var index = 0;
+      while (true) {
+        var result = BatchItemResult.builder().index(index++).build();
+        try {
+          if (!items.hasNextValue()) {
+            break;
+          }
+          NewEventRequest item = items.nextValue();
+          if (item == null) {
+            addError(result, "item", "NotNull", "Item must be an event object");
+          } else {
+            for (var violation : validator.validate(item)) {
+              addError(
+                  result,
+                  violation.getPropertyPath().toString(),
+                  violation
+                      .getConstraintDescriptor()
+                      .getAnnotation()
+                      .annotationType()
+                      .getSimpleName(),
+                  violation.getMessage());
+            }
+            if (result.getErrors().isEmpty()) {
+              chunk.add(EventMapper.toEntity(item));
+              chunkResults.add(result);
+            }
+          }
+        } catch (JsonMappingException e) {
+          // the item is well-formed json but does not bind, the iterator skips past it
+          addError(result, fieldOf(e), "InvalidFormat", e.getOriginalMessage());
+        } catch (JsonProcessingException e) {
+          // the stream itself is broken, nothing after this point can be trusted
+          addError(result, "item", "MalformedJson", e.getOriginalMessage());
+          results.add(result);
+          break;
+        }
+        results.add(result);
+
+        if (chunk.size() == chunkSize) {
+          created += saveChunk(chunk, chunkResults);
+        }
+      }
+    }
+    created += saveChunk(chunk, chunkResults);
+
+    if (results.isEmpty()) {
+      throw new BadRequestException("Batch contains no events");
+    }
+    log.info("Imported {} of {} events", created, results.size());
+    return new BatchEventResponse(created, results.size() - created, results);
+  }
+
+  private int saveChunk(List<Event> chunk, List<BatchItemResult> chunkResults) {
+    if (chunk.isEmpty()) {
+      return 0;
+    }
+    var saved = eventRepository.saveAll(chunk);
+    for (var i = 0; i < saved.size(); i++) {
+      chunkResults.get(i).setId(saved.get(i).getId());
+    }
+    var count = saved.size();
+    chunk.clear();
+    chunkResults.clear();
+    return count;
+  }
+
+  private static String fieldOf(JsonMappingException e) {
+    var path = e.getPath();
+    if (path.isEmpty() || path.get(path.size() - 1).getFieldName() == null) {
+      return "item";
+    }
+    return path.get(path.size() - 1).getFieldName();
+  }
+
+  private static void addError(BatchItemResult result, String field, String code, String message) {
+    result
+        .getErrors()
+        .computeIfAbsent(field, key -> new ArrayList<>())
+        .add(new ValidationError(code, message));
+  }
+}
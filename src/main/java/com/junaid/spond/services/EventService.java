@@ -1,89 +1,470 @@
 package com.junaid.spond.services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.benmanes.caffeine.cache.Cache;
+import com.junaid.spond.configs.CacheProperties;
+import com.junaid.spond.configs.ForecastProperties;
+import com.junaid.spond.dtos.CursorPageResponse;
+import com.junaid.spond.dtos.EventCursor;
+import com.junaid.spond.dtos.EventFilter;
+import com.junaid.spond.dtos.EventLookupResponse;
 import com.junaid.spond.dtos.EventResponse;
+import com.junaid.spond.dtos.EventSummary;
 import com.junaid.spond.dtos.NewEventRequest;
 import com.junaid.spond.dtos.PageableResponse;
+import com.junaid.spond.exceptions.BadRequestException;
+import com.junaid.spond.exceptions.ForecastUnavailableException;
 import com.junaid.spond.exceptions.ResourceNotFoundException;
 import com.junaid.spond.mappers.EventMapper;
 import com.junaid.spond.models.Event;
+import com.junaid.spond.models.EventSnapshot;
+import com.junaid.spond.models.ForecastData;
+import com.junaid.spond.models.SerializedEvent;
 import com.junaid.spond.repositories.EventRepository;
-import jakarta.transaction.Transactional;
+import com.junaid.spond.repositories.EventSpecifications;
+import com.junaid.spond.utils.HttpCaching;
+import com.junaid.spond.utils.SharedCache;
+import com.junaid.spond.utils.SingleFlight;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Slf4j
 public class EventService {
   @Autowired private EventRepository eventRepository;
 
-  @Autowired private Cache<String, Event> forecastCache;
+  @Autowired private Cache<Long, EventSnapshot> forecastCache;
+
+  // tier behind forecastCache shared with the other instances, when one is configured
+  @Autowired(required = false)
+  private SharedCache<Long, EventSnapshot> sharedEventCache;
 
   @Autowired private ForecastService forecastService;
 
+  @Autowired private ForecastWriteBehind forecastWriteBehind;
+
+  @Autowired private ForecastProperties forecastProperties;
+
+  @Autowired private CacheProperties cacheProperties;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Autowired
+  @Qualifier("forecastRefreshExecutor")
+  private Executor forecastRefreshExecutor;
+
+  @Value("${spond.lookup.max-ids:100}")
+  private int maxLookupIds;
+
+  @Value("${spond.events.max-page-size:100}")
+  private int maxPageSize;
+
+  // concurrent cache misses for the same event share one load and forecast fetch
+  private final SingleFlight<Long, Event> eventLoads = new SingleFlight<>();
+
+  // events with a background revalidation queued or running
+  private final Set<Long> revalidating = ConcurrentHashMap.newKeySet();
+
   public EventResponse saveEvent(NewEventRequest newEventRequest) {
     var event = EventMapper.toEntity(newEventRequest);
     event = eventRepository.save(event);
     return EventMapper.toEventResponse(event);
   }
 
-  @Transactional
+  // no transaction around reads: a connection is only held for the findById, never while the
+  // forecast is fetched. the fetched forecast is written back by forecastWriteBehind
   public EventResponse getEventById(Long id) {
-    // check if the event is in cache
-    var cachedEvent = forecastCache.getIfPresent(id.toString());
-    if (cachedEvent != null && !isForecastExpired(cachedEvent)) {
+    // check if the event is in cache. entries expire with their forecast, so a hit is fresh
+    var cachedEvent = cachedEvent(id);
+    if (cachedEvent != null) {
       log.info("Event found in cache with id: {}", id);
       return EventMapper.toEventResponse(cachedEvent);
     }
 
-    // if not in cache, fetch from database
+    return loadEventResponse(id);
+  }
+
+  /**
+   * Events for many ids in one round trip, in the order they were asked for. Cached events come
+   * from one bulk cache lookup and the misses from one query. The forecasts those need are fetched
+   * at the same time, events in the same coordinate cell share one upstream call. Ids without an
+   * event are listed as missing rather than failing the lookup.
+   */
+  public EventLookupResponse getEventsByIds(List<Long> ids) {
+    var distinctIds = new LinkedHashSet<Long>();
+    ids.stream().filter(Objects::nonNull).forEach(distinctIds::add);
+    if (distinctIds.isEmpty()) {
+      throw new BadRequestException("ids must not be empty");
+    }
+    if (distinctIds.size() > maxLookupIds) {
+      throw new BadRequestException("At most " + maxLookupIds + " ids can be looked up at once");
+    }
+
+    var responses = new HashMap<Long, EventResponse>();
+    var cachedEvents = forecastCache.getAllPresent(distinctIds);
+    cachedEvents.forEach((id, event) -> responses.put(id, EventMapper.toEventResponse(event)));
+    var misses = new ArrayList<Long>();
+    for (var id : distinctIds) {
+      if (cachedEvents.containsKey(id)) {
+        continue;
+      }
+      var sharedEvent = sharedCachedEvent(id);
+      if (sharedEvent != null) {
+        responses.put(id, EventMapper.toEventResponse(sharedEvent));
+      } else {
+        misses.add(id);
+      }
+    }
+    log.info("Looking up {} events, {} found in cache", distinctIds.size(), responses.size());
+    if (!misses.isEmpty()) {
+      loadEventResponses(misses, responses);
+    }
+
+    var data = new ArrayList<EventResponse>(responses.size());
+    var missingIds = new ArrayList<Long>();
+    for (var id : distinctIds) {
+      var response = responses.get(id);
+      if (response != null) {
+        data.add(response);
+      } else {
+        missingIds.add(id);
+      }
+    }
+    return new EventLookupResponse(data, missingIds);
+  }
+
+  // the bulk counterpart of loadEventResponse, the same rules for each event
+  private void loadEventResponses(List<Long> ids, Map<Long, EventResponse> responses) {
+    var refreshes = new ArrayList<Event>();
+    for (var event : eventRepository.findAllWithForecastById(ids)) {
+      forecastWriteBehind.applyPending(event);
+      if (!isForecastExpired(event)) {
+        cacheEvent(event);
+        responses.put(event.getId(), EventMapper.toEventResponse(event));
+      } else if (!isEventInNext7Days(event)) {
+        responses.put(event.getId(), EventMapper.toEventResponse(event));
+      } else if (canServeStale(event)) {
+        responses.put(event.getId(), staleEventResponse(event));
+      } else {
+        refreshes.add(event);
+      }
+    }
+
+    // all fetches are started before any is waited on
+    var fetches = refreshes.stream().map(forecastService::getForecastDataAsync).toList();
+    for (var i = 0; i < refreshes.size(); i++) {
+      var fetch = fetches.get(i);
+      var event = refreshForecast(refreshes.get(i), () -> join(fetch));
+      responses.put(event.getId(), EventMapper.toEventResponse(event));
+    }
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * JSON body and ETag of an event, for when {@code spond.cache.serialized-events} is on. A cached
+   * event is serialized on its second read and the bytes are kept with it, later reads return them
+   * as they are. Returns null when the mode is off.
+   */
+  public SerializedEvent getSerializedEvent(Long id) {
+    if (!cacheProperties.isSerializedEvents()) {
+      return null;
+    }
+    var cachedEvent = cachedEvent(id);
+    if (cachedEvent == null) {
+      return serialize(loadEventResponse(id));
+    }
+    if (cachedEvent.serialized() != null) {
+      log.info("Serialized event found in cache with id: {}", id);
+      return cachedEvent.serialized();
+    }
+
+    var serialized = serialize(EventMapper.toEventResponse(cachedEvent));
+    // only keep the body if the snapshot wasn't replaced meanwhile, it may be outdated otherwise.
+    // the body stays local, the shared tier only holds the snapshot
+    forecastCache.asMap().replace(id, cachedEvent, cachedEvent.withSerialized(serialized));
+    return serialized;
+  }
+
+  // the local cache first, then the shared tier, whose hits are kept locally as well
+  private EventSnapshot cachedEvent(Long id) {
+    var cachedEvent = forecastCache.getIfPresent(id);
+    return cachedEvent != null ? cachedEvent : sharedCachedEvent(id);
+  }
+
+  private EventSnapshot sharedCachedEvent(Long id) {
+    if (sharedEventCache == null) {
+      return null;
+    }
+    var cachedEvent = sharedEventCache.get(id);
+    if (cachedEvent != null) {
+      log.info("Event found in shared cache with id: {}", id);
+      forecastCache.put(id, cachedEvent);
+    }
+    return cachedEvent;
+  }
+
+  // the other instances drop their local copy and pick this one up from the shared tier
+  private void cacheEvent(Event event) {
+    var snapshot = EventMapper.toSnapshot(event);
+    forecastCache.put(event.getId(), snapshot);
+    if (sharedEventCache != null) {
+      sharedEventCache.put(event.getId(), snapshot);
+    }
+  }
+
+  private EventResponse loadEventResponse(Long id) {
+    // if not in cache, load it. concurrent readers of the same event wait for this load
+    var event = eventLoads.execute(id, () -> loadEvent(id));
+    if (isEventInNext7Days(event) && canServeStale(event)) {
+      return staleEventResponse(event);
+    }
+    return EventMapper.toEventResponse(event);
+  }
+
+  private SerializedEvent serialize(EventResponse eventResponse) {
+    try {
+      var json = objectMapper.writeValueAsBytes(eventResponse);
+      return new SerializedEvent(
+          json,
+          HttpCaching.etag(eventResponse),
+          eventResponse.getForecastExpiresAt(),
+          Boolean.TRUE.equals(eventResponse.getForecastStale()));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize event " + eventResponse.getId(), e);
+    }
+  }
+
+  private Event loadEvent(Long id) {
+    // fetch from database
     var event =
         eventRepository
-            .findById(id)
+            .findWithForecastById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+    // a forecast fetched by an earlier read may not be written yet
+    forecastWriteBehind.applyPending(event);
 
     // add to cache if the forecast is not yet expired
     if (!isForecastExpired(event)) {
       log.info("Event adding to cache with id: {} as forecast is not yet expired", id);
-      forecastCache.put(id.toString(), event);
-      return EventMapper.toEventResponse(event);
+      cacheEvent(event);
+      return event;
     }
 
     // if the event is in next 7 days and forecast is expired, fetch the forecast data
     if (isEventInNext7Days(event) && isForecastExpired(event)) {
+      if (canServeStale(event)) {
+        // the caller serves the last known forecast while it is revalidated
+        return event;
+      }
       log.info("Fetching forecast and caching the event with id : {}", id);
-      var forecastData = forecastService.getForecastData(event);
+      return refreshForecast(event);
+    }
+
+    log.info("Event is not within 7 days. Doesn't need foreacst data for event with id : {} ", id);
+    return event;
+  }
 
-      // update the event with forecast data
-      event.setAirTemperature(forecastData.getAirTemperature());
-      event.setWindSpeed(forecastData.getWindSpeed());
-      event.setForecastExpiresAt(forecastData.getForecastExpiresAt());
-      event.setForecastLastModifiedAt(forecastData.getForecastLastModifiedAt());
-      event = eventRepository.save(event);
+  private Event refreshForecast(Event event) {
+    return refreshForecast(event, () -> forecastService.getForecastData(event));
+  }
 
-      // add to the cache
-      forecastCache.put(event.getId().toString(), event);
-      return EventMapper.toEventResponse(event);
+  private Event refreshForecast(Event event, Supplier<ForecastData> forecast) {
+    ForecastData forecastData;
+    try {
+      forecastData = forecast.get();
+    } catch (ForecastUnavailableException e) {
+      // serve the forecast persisted with the event rather than failing the read, it is not
+      // cached so the next read tries again
+      log.warn(
+          "Forecast unavailable for event id: {}, serving the persisted one: {}",
+          event.getId(),
+          e.getMessage());
+      return event;
     }
 
-    log.info("Event is not within 7 days. Doesn't need foreacst data for event with id : {} ", id);
-    return EventMapper.toEventResponse(event);
+    // update the event with forecast data, the database catches up in the next write-behind batch
+    EventMapper.applyForecast(event, forecastData);
+    forecastWriteBehind.enqueue(event, forecastData);
+
+    // add to the cache
+    cacheEvent(event);
+    return event;
   }
 
-  public PageableResponse<EventResponse> getEvents(int page, int size) {
-    var pageable = PageRequest.of(page, size);
-    var eventPage = eventRepository.findAll(pageable);
-    var pageableResponse =
-        new PageableResponse<>(
-            EventMapper.toEventResponseList(eventPage.getContent()),
-            eventPage.getNumber(),
-            eventPage.getTotalPages(),
-            eventPage.getTotalElements());
-    return pageableResponse;
+  private boolean canServeStale(Event event) {
+    var staleWhileRevalidate = forecastProperties.getStaleWhileRevalidate();
+    if (!staleWhileRevalidate.isEnabled() || event.getForecastExpiresAt() == null) {
+      return false;
+    }
+    var staleFor = Duration.between(event.getForecastExpiresAt(), Instant.now());
+    return !staleFor.isNegative()
+        && staleFor.compareTo(staleWhileRevalidate.getMaxStaleness()) <= 0;
+  }
+
+  private EventResponse staleEventResponse(Event event) {
+    var id = event.getId();
+    log.info("Serving stale forecast for event id: {} while it is revalidated", id);
+    if (revalidating.add(id)) {
+      try {
+        forecastRefreshExecutor.execute(() -> revalidate(id));
+      } catch (RuntimeException e) {
+        revalidating.remove(id);
+        throw e;
+      }
+    }
+
+    var response = EventMapper.toEventResponse(event);
+    response.setForecastStale(true);
+    response.setForecastStaleSeconds(
+        Duration.between(event.getForecastExpiresAt(), Instant.now()).toSeconds());
+    return response;
+  }
+
+  private void revalidate(Long id) {
+    try {
+      eventLoads.execute(
+          id,
+          () -> eventRepository.findWithForecastById(id).map(this::refreshForecast).orElse(null));
+    } catch (RuntimeException e) {
+      log.warn("Could not revalidate forecast for event id: {}", id, e);
+    } finally {
+      revalidating.remove(id);
+    }
+  }
+
+  // one read only transaction for the page and its count, the rows are projected straight into
+  // summaries so no entity is loaded, dirty checked or kept
+  @Transactional(readOnly = true)
+  public PageableResponse<EventSummary> getEvents(EventFilter filter, int page, int size) {
+    if (page < 0) {
+      throw new BadRequestException("Page must not be negative");
+    }
+    validatePageSize(size);
+    validate(filter);
+    var pageable = PageRequest.of(page, size, EventSpecifications.KEYSET_ORDER);
+    var specification = EventSpecifications.matching(filter);
+    // the count is skipped when the page itself shows the total
+    var eventPage =
+        PageableExecutionUtils.getPage(
+            eventRepository.findSummaries(specification, pageable),
+            pageable,
+            () -> eventRepository.count(specification));
+    return new PageableResponse<>(
+        eventPage.getContent(),
+        eventPage.getNumber(),
+        eventPage.getTotalPages(),
+        eventPage.getTotalElements());
+  }
+
+  @Transactional(readOnly = true)
+  public CursorPageResponse<EventSummary> getEvents(EventFilter filter, String cursor, int size) {
+    validatePageSize(size);
+    validate(filter);
+
+    var specification = EventSpecifications.matching(filter);
+    if (cursor != null && !cursor.isEmpty()) {
+      specification = specification.and(EventSpecifications.after(EventCursor.decode(cursor)));
+    }
+    // read one extra row to know whether there is a next page
+    var events =
+        eventRepository.findSummaries(
+            specification, PageRequest.of(0, size + 1, EventSpecifications.KEYSET_ORDER));
+
+    String nextCursor = null;
+    if (events.size() > size) {
+      events = events.subList(0, size);
+      var last = events.get(size - 1);
+      nextCursor = new EventCursor(last.startDateTime(), last.id()).encode();
+    }
+    return new CursorPageResponse<>(events, nextCursor);
+  }
+
+  private void validatePageSize(int size) {
+    if (size < 1) {
+      throw new BadRequestException("Size must be at least 1");
+    }
+    if (size > maxPageSize) {
+      throw new BadRequestException("Size must be at most " + maxPageSize);
+    }
+  }
+
+  private void validate(EventFilter filter) {
+    if (filter.getFrom() != null
+        && filter.getTo() != null
+        && !filter.getFrom().isBefore(filter.getTo())) {
+      throw new BadRequestException("from must be before to");
+    }
+    if (filter.hasBoundingBox() && filter.hasRadius()) {
+      throw new BadRequestException("Use either a bounding box or a radius, not both");
+    }
+    if (filter.hasBoundingBox()) {
+      if (filter.getMinLat() == null
+          || filter.getMaxLat() == null
+          || filter.getMinLon() == null
+          || filter.getMaxLon() == null) {
+        throw new BadRequestException("Bounding box needs minLat, maxLat, minLon and maxLon");
+      }
+      validateLatitude(filter.getMinLat());
+      validateLatitude(filter.getMaxLat());
+      validateLongitude(filter.getMinLon());
+      validateLongitude(filter.getMaxLon());
+      if (filter.getMinLat() > filter.getMaxLat() || filter.getMinLon() > filter.getMaxLon()) {
+        throw new BadRequestException("Bounding box minimums must not exceed its maximums");
+      }
+    }
+    if (filter.hasRadius()) {
+      if (filter.getLat() == null || filter.getLon() == null || filter.getRadiusKm() == null) {
+        throw new BadRequestException("Radius search needs lat, lon and radiusKm");
+      }
+      validateLatitude(filter.getLat());
+      validateLongitude(filter.getLon());
+      if (!(filter.getRadiusKm() > 0)) {
+        throw new BadRequestException("radiusKm must be positive");
+      }
+    }
+  }
+
+  private static void validateLatitude(double latitude) {
+    if (!(latitude >= -90 && latitude <= 90)) {
+      throw new BadRequestException("Latitude must be between -90 and 90");
+    }
+  }
+
+  private static void validateLongitude(double longitude) {
+    if (!(longitude >= -180 && longitude <= 180)) {
+      throw new BadRequestException("Longitude must be between -180 and 180");
+    }
   }
 
   private boolean isEventInNext7Days(Event event) {
@@ -99,11 +480,6 @@ public class EventService {
       // forecast not fetched yet. need to fetch it
       return true;
     }
-    if (now.isAfter(event.getForecastExpiresAt())) {
-      log.info("Forecast expired for event id: {}. Invalidating the cache.", event.getId());
-      forecastCache.invalidate(event.getId().toString());
-      return true;
-    }
-    return false;
+    return now.isAfter(event.getForecastExpiresAt());
   }
 }
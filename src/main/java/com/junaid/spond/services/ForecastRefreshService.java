@@ -0,0 +1,168 @@
+package com.junaid.spond.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.junaid.spond.configs.ForecastProperties;
+import com.junaid.spond.mappers.EventMapper;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.models.EventSnapshot;
+import com.junaid.spond.models.ForecastData;
+import com.junaid.spond.models.ForecastKey;
+import com.junaid.spond.repositories.EventRepository;
+import com.junaid.spond.repositories.ForecastRepository;
+import com.junaid.spond.utils.SharedCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps forecasts of upcoming events fresh in the background so that reads rarely have to call the
+ * MET api themselves.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(
+    prefix = "spond.forecast.refresh",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class ForecastRefreshService {
+  @Autowired private EventRepository eventRepository;
+
+  @Autowired private ForecastService forecastService;
+
+  @Autowired private ForecastRepository forecastRepository;
+
+  @Autowired private Cache<Long, EventSnapshot> forecastCache;
+
+  @Autowired(required = false)
+  private SharedCache<Long, EventSnapshot> sharedEventCache;
+
+  @Autowired private ForecastProperties forecastProperties;
+
+  private final Timer refreshLag;
+  private final Counter refreshFailures;
+  private final AtomicInteger pendingRefreshes = new AtomicInteger();
+
+  public ForecastRefreshService(MeterRegistry meterRegistry) {
+    this.refreshLag =
+        Timer.builder("spond.forecast.refresh.lag")
+            .description("Time between a forecast expiring and the refresher replacing it")
+            .register(meterRegistry);
+    this.refreshFailures =
+        Counter.builder("spond.forecast.refresh.failures")
+            .description("Forecast refreshes that failed and were left for the next sweep")
+            .register(meterRegistry);
+    meterRegistry.gauge("spond.forecast.refresh.pending", pendingRefreshes);
+  }
+
+  @Scheduled(
+      fixedDelayString = "${spond.forecast.refresh.interval:PT1M}",
+      initialDelayString = "${spond.forecast.refresh.initial-delay:PT30S}")
+  public void refreshExpiringForecasts() {
+    var refresh = forecastProperties.getRefresh();
+    var now = Instant.now();
+    var ids =
+        eventRepository.findIdsWithExpiredForecasts(
+            now.plus(refresh.getLeadTime()), now, now.plus(refresh.getHorizon()));
+    pendingRefreshes.set(ids.size());
+    if (ids.isEmpty()) {
+      return;
+    }
+
+    log.info("Refreshing forecasts for {} upcoming events", ids.size());
+    var refreshed = 0;
+    for (var from = 0; from < ids.size(); from += refresh.getBatchSize()) {
+      var batch = ids.subList(from, Math.min(from + refresh.getBatchSize(), ids.size()));
+      refreshed += refreshBatch(batch);
+      pendingRefreshes.set(ids.size() - from - batch.size());
+    }
+    log.info("Refreshed forecasts for {} of {} upcoming events", refreshed, ids.size());
+  }
+
+  int refreshBatch(List<Long> ids) {
+    var events = eventRepository.findAllWithForecastById(ids);
+
+    // start every fetch at once, the forecast request limiter bounds how many reach the upstream
+    var refreshed = new ConcurrentLinkedQueue<Event>();
+    var forecasts = new ConcurrentHashMap<ForecastKey, ForecastData>();
+    CompletableFuture.allOf(
+            events.stream()
+                .map(event -> refresh(event, refreshed, forecasts))
+                .toArray(CompletableFuture[]::new))
+        .join();
+    var updated = List.copyOf(refreshed);
+    if (updated.isEmpty()) {
+      return 0;
+    }
+
+    // one row per cell and hour, events at the same place share it and their rows stay untouched
+    forecastRepository.upsertAll(
+        forecasts.entrySet().stream()
+            .map(forecast -> EventMapper.toForecast(forecast.getKey(), forecast.getValue()))
+            .toList());
+
+    for (var event : updated) {
+      var snapshot = EventMapper.toSnapshot(event);
+      forecastCache.put(event.getId(), snapshot);
+      if (sharedEventCache != null) {
+        sharedEventCache.put(event.getId(), snapshot);
+      }
+    }
+    return updated.size();
+  }
+
+  private CompletableFuture<Void> refresh(
+      Event event, Collection<Event> refreshed, Map<ForecastKey, ForecastData> forecasts) {
+    var expiredAt = event.getForecastExpiresAt();
+    CompletableFuture<ForecastData> fetch;
+    try {
+      fetch = forecastService.getForecastDataAsync(event);
+    } catch (RuntimeException e) {
+      fetch = CompletableFuture.failedFuture(e);
+    }
+    return fetch.handle(
+        (forecastData, error) -> {
+          if (error != null) {
+            log.warn("Could not refresh forecast for event id: {}", event.getId(), error);
+            refreshFailures.increment();
+            return null;
+          }
+          if (!isNewer(forecastData, expiredAt)) {
+            // an error response or an unreadable body falls back to the event's own forecast,
+            // nothing was refreshed
+            log.warn("No newer forecast for event id: {}", event.getId());
+            refreshFailures.increment();
+            return null;
+          }
+          if (expiredAt != null) {
+            var lag = Duration.between(expiredAt, Instant.now());
+            refreshLag.record(lag.isNegative() ? Duration.ZERO : lag);
+          }
+          refreshed.add(EventMapper.applyForecast(event, forecastData));
+          var key = event.forecastKey();
+          if (key != null) {
+            forecasts.put(key, forecastData);
+          }
+          return null;
+        });
+  }
+
+  private static boolean isNewer(ForecastData forecastData, Instant expiredAt) {
+    var expiresAt = forecastData.getForecastExpiresAt();
+    return expiresAt != null && (expiredAt == null || expiresAt.isAfter(expiredAt));
+  }
+}
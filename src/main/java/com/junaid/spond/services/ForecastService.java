@@ -1,135 +1,343 @@
 package com.junaid.spond.services;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.junaid.spond.configs.ForecastProperties;
+import com.junaid.spond.exceptions.ForecastUnavailableException;
 import com.junaid.spond.models.Event;
 import com.junaid.spond.models.ForecastData;
+import com.junaid.spond.models.ForecastKey;
+import com.junaid.spond.models.LocationForecast;
+import com.junaid.spond.models.LocationKey;
+import com.junaid.spond.utils.CircuitBreaker;
+import com.junaid.spond.utils.ConcurrencyLimiter;
+import com.junaid.spond.utils.MetForecastParser;
+import com.junaid.spond.utils.SharedCache;
+import com.junaid.spond.utils.SingleFlight;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 @Service
 @Slf4j
 public class ForecastService {
-  @Autowired private RestTemplate restTemplate;
+  @Autowired
+  @Qualifier("forecastHttpClient")
+  private HttpClient forecastHttpClient;
 
   @Autowired private ObjectMapper objectMapper;
 
-  private static final String MET_API_URL =
-      "https://api.met.no/weatherapi/locationforecast/2.0/compact?lat={lat}&lon={lon}";
+  @Autowired private Cache<LocationKey, LocationForecast> locationForecastCache;
+
+  // tier behind locationForecastCache shared with the other instances, so each cell is fetched
+  // once for the whole cluster
+  @Autowired(required = false)
+  private SharedCache<LocationKey, LocationForecast> sharedLocationForecastCache;
+
+  @Autowired private ForecastProperties forecastProperties;
+
+  @Autowired private ConcurrencyLimiter forecastRequestLimiter;
+
+  @Autowired private CircuitBreaker forecastCircuitBreaker;
+
+  // concurrent fetches for the same coordinate cell share one upstream call
+  private final SingleFlight<LocationKey, LocationForecast> locationFetches = new SingleFlight<>();
+
   private static final String USER_AGENT = "SpondEventApp/1.0 (contact: joenayjoe@gmail.com)";
+  // location forecasts are kept for a while, so keep timesteps a bit past the horizon
+  private static final Duration PARSE_SLACK = Duration.ofDays(1);
+  private static final DateTimeFormatter HTTP_DATE_FORMATTER =
+      DateTimeFormatter.RFC_1123_DATE_TIME.withLocale(Locale.US).withZone(ZoneId.of("GMT"));
 
   public ForecastData getForecastData(Event event) {
-    // set headers
-    HttpHeaders headers = new HttpHeaders();
-    headers.set("User-Agent", USER_AGENT);
-    headers.set("Accept", "application/json");
+    try {
+      return getForecastDataAsync(event).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
 
-    // add if mofified since header if forecast last modified at is not null
-    if (event.getForecastLastModifiedAt() != null) {
-      DateTimeFormatter formatter =
-          DateTimeFormatter.RFC_1123_DATE_TIME.withLocale(Locale.US).withZone(ZoneId.of("GMT"));
+  /**
+   * Non-blocking variant of {@link #getForecastData}. No thread waits on the upstream call, the
+   * returned future completes once the response has been read and parsed.
+   */
+  public CompletableFuture<ForecastData> getForecastDataAsync(Event event) {
+    if (event.getLatitude() == null || event.getLongitude() == null) {
+      log.info("Event with id: {} has no coordinates, no forecast to fetch", event.getId());
+      return CompletableFuture.completedFuture(currentForecastData(event));
+    }
+    var key = LocationKey.of(event.getLatitude(), event.getLongitude());
 
-      headers.set("If-Modified-Since", formatter.format(event.getForecastLastModifiedAt()));
+    // events at the same coordinate cell share one copy of the timeseries
+    var locationForecast = cachedLocationForecast(key);
+    if (locationForecast != null && !locationForecast.isExpired(Instant.now())) {
+      log.info("Weather data found in location cache for {}", key);
+      return CompletableFuture.completedFuture(locationForecast.forecastAt(forecastHour(event)));
     }
 
-    var entity = new HttpEntity<>(headers);
+    return locationFetches
+        .executeAsync(key, () -> refreshLocationForecast(key, locationForecast))
+        .thenApply(
+            fetched ->
+                fetched == null
+                    ? currentForecastData(event)
+                    : fetched.forecastAt(forecastHour(event)));
+  }
 
-    try {
-      // make the api call
-      var response =
-          restTemplate.exchange(
-              MET_API_URL,
-              HttpMethod.GET,
-              entity,
-              String.class,
-              event.getLatitude(),
-              event.getLongitude());
-
-      if (response == null || response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
-        log.info("Weather data not modified since last fetch");
-        return ForecastData.builder()
-            .airTemperature(event.getAirTemperature())
-            .windSpeed(event.getWindSpeed())
-            .forecastExpiresAt(event.getForecastExpiresAt())
-            .forecastLastModifiedAt(event.getForecastLastModifiedAt())
-            .build();
-      }
-      if (response.getStatusCode().is2xxSuccessful()) {
-        log.info("Weather data fetched successfully");
-        return parseWeatherData(event, response);
-      }
+  // the value stored for the event's cell and hour, shared with every event there
+  private static Instant forecastHour(Event event) {
+    return ForecastKey.forecastHour(event.getStartDateTime());
+  }
 
-      return ForecastData.builder()
-          .airTemperature(event.getAirTemperature())
-          .windSpeed(event.getWindSpeed())
-          .forecastExpiresAt(event.getForecastExpiresAt())
-          .forecastLastModifiedAt(event.getForecastLastModifiedAt())
-          .build();
+  private CompletableFuture<LocationForecast> refreshLocationForecast(
+      LocationKey key, LocationForecast cached) {
+    return fetchLocationForecast(key, cached)
+        .thenApply(
+            fetched -> {
+              if (fetched != null) {
+                locationForecastCache.put(key, fetched);
+                if (sharedLocationForecastCache != null) {
+                  sharedLocationForecastCache.put(key, fetched);
+                }
+              }
+              return fetched;
+            });
+  }
 
-    } catch (Exception e) {
+  // the local cache first, then the shared tier when the local copy is missing or expired
+  private LocationForecast cachedLocationForecast(LocationKey key) {
+    var locationForecast = locationForecastCache.getIfPresent(key);
+    if (sharedLocationForecastCache == null
+        || (locationForecast != null && !locationForecast.isExpired(Instant.now()))) {
+      return locationForecast;
+    }
+    var shared = sharedLocationForecastCache.get(key);
+    if (shared == null || (locationForecast != null && !isNewer(shared, locationForecast))) {
+      return locationForecast;
+    }
+    log.info("Weather data found in shared location cache for {}", key);
+    locationForecastCache.put(key, shared);
+    return shared;
+  }
+
+  private static boolean isNewer(LocationForecast forecast, LocationForecast than) {
+    return forecast.getExpiresAt() != null
+        && (than.getExpiresAt() == null || forecast.getExpiresAt().isAfter(than.getExpiresAt()));
+  }
+
+  private CompletableFuture<LocationForecast> fetchLocationForecast(
+      LocationKey key, LocationForecast cached) {
+    var request =
+        HttpRequest.newBuilder(
+                URI.create(
+                    "%s?lat=%s&lon=%s"
+                        .formatted(
+                            forecastProperties.getClient().getBaseUrl(),
+                            key.latitude(),
+                            key.longitude())))
+            .timeout(forecastProperties.getClient().getRequestTimeout())
+            .header("User-Agent", USER_AGENT)
+            .header("Accept", "application/json")
+            .header("Accept-Encoding", "gzip");
+
+    // only revalidate when we still hold the timeseries the server would confirm
+    if (cached != null && cached.getLastModifiedAt() != null) {
+      request.header("If-Modified-Since", HTTP_DATE_FORMATTER.format(cached.getLastModifiedAt()));
+    }
+
+    try {
+      return send(request.GET().build(), cached, 1);
+    } catch (RuntimeException e) {
       log.error("Error while fetching Weather Forecast", e);
-      throw new RuntimeException("Error while fetching Weather Forecast", e);
+      return CompletableFuture.failedFuture(
+          new ForecastUnavailableException("Error while fetching Weather Forecast", e));
+    }
+  }
+
+  private CompletableFuture<LocationForecast> send(
+      HttpRequest request, LocationForecast cached, int attempt) {
+    // while the circuit is open callers fall back to the forecast they already have
+    if (!forecastCircuitBreaker.tryAcquire()) {
+      return CompletableFuture.failedFuture(
+          new ForecastUnavailableException("Weather Forecast circuit is open"));
     }
+
+    // the body is collected without blocking a thread, then parsed on the client's executor.
+    // the limiter, not a thread pool, decides how many calls are in flight
+    return forecastRequestLimiter
+        .execute(() -> exchange(request))
+        .handle(
+            (response, error) -> {
+              if (error == null && !isRetryable(response.statusCode())) {
+                forecastCircuitBreaker.onSuccess();
+                return CompletableFuture.completedFuture(readLocationForecast(response, cached));
+              }
+              forecastCircuitBreaker.onFailure();
+
+              var retryAfter = error == null ? retryAfter(response) : null;
+              if (retryAfter != null) {
+                // the server said when to come back, nobody calls it before then
+                log.warn("Weather Forecast unavailable, retrying after {}", retryAfter);
+                forecastCircuitBreaker.openFor(retryAfter);
+                return CompletableFuture.<LocationForecast>failedFuture(
+                    new ForecastUnavailableException(
+                        "Weather Forecast unavailable, retry after " + retryAfter));
+              }
+              if (attempt >= forecastProperties.getRetry().getMaxAttempts()) {
+                log.error(
+                    "Error while fetching Weather Forecast after {} attempts, last status: {}",
+                    attempt,
+                    error == null ? response.statusCode() : null,
+                    error);
+                return CompletableFuture.<LocationForecast>failedFuture(
+                    new ForecastUnavailableException(
+                        "Error while fetching Weather Forecast", error));
+              }
+
+              var backoff = backoff(attempt);
+              log.warn(
+                  "Fetching Weather Forecast failed, attempt {} in {} ms", attempt + 1, backoff);
+              return CompletableFuture.supplyAsync(
+                      () -> send(request, cached, attempt + 1),
+                      CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS))
+                  .thenCompose(Function.identity());
+            })
+        .thenCompose(Function.identity());
+  }
+
+  // the request's own timeout ends at the response headers, a body that stalls after them would
+  // hold the fetch and everyone waiting on it forever. the whole exchange gets the same deadline,
+  // a timed out one is cancelled and counts as a failed attempt
+  private CompletableFuture<HttpResponse<byte[]>> exchange(HttpRequest request) {
+    var exchange = forecastHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    return exchange
+        .copy()
+        .orTimeout(
+            forecastProperties.getClient().getRequestTimeout().toMillis(), TimeUnit.MILLISECONDS)
+        .whenComplete(
+            (response, error) -> {
+              if (error instanceof TimeoutException) {
+                exchange.cancel(true);
+              }
+            });
   }
 
-  private ForecastData parseWeatherData(Event event, ResponseEntity<String> response) {
+  private static boolean isRetryable(int statusCode) {
+    return statusCode == 429 || statusCode >= 500;
+  }
 
+  // exponential backoff with full jitter, in milliseconds
+  private long backoff(int attempt) {
+    var retry = forecastProperties.getRetry();
+    var cap =
+        Math.min(
+            retry.getMaxBackoff().toMillis(),
+            retry.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+    return ThreadLocalRandom.current().nextLong(cap + 1);
+  }
+
+  // Retry-After of a 429 or 503, either delay seconds or an http date
+  private Duration retryAfter(HttpResponse<byte[]> response) {
+    if (response.statusCode() != 429 && response.statusCode() != 503) {
+      return null;
+    }
+    var value = response.headers().firstValue("Retry-After").orElse(null);
+    if (value == null) {
+      return null;
+    }
     try {
-      var formatter =
-          DateTimeFormatter.RFC_1123_DATE_TIME.withLocale(Locale.US).withZone(ZoneId.of("GMT"));
-
-      var lastModified = response.getHeaders().getFirst("Last-Modified");
-      var expires = response.getHeaders().getFirst("Expires");
-
-      var rootNode = objectMapper.readTree(response.getBody());
-      var timeSeries = rootNode.path("properties").path("timeseries");
-      var eventStartTime = event.getStartDateTime();
-      var closestForecast = findClosestForecast(timeSeries, eventStartTime);
-      var details = closestForecast.path("data").path("instant").path("details");
-      var airTemperature = details.path("air_temperature").asDouble();
-      var windSpeed = details.path("wind_speed").asDouble();
-
-      return ForecastData.builder()
-          .airTemperature(airTemperature)
-          .windSpeed(windSpeed)
-          .forecastExpiresAt(Instant.from(formatter.parse(expires)))
-          .forecastLastModifiedAt(Instant.from(formatter.parse(lastModified)))
-          .build();
-    } catch (Exception e) {
-      log.error("Error while parsing Weather Forecast", e);
-      return ForecastData.builder()
-          .airTemperature(event.getAirTemperature())
-          .windSpeed(event.getWindSpeed())
-          .forecastExpiresAt(event.getForecastExpiresAt())
-          .forecastLastModifiedAt(event.getForecastLastModifiedAt())
-          .build();
+      var retryAfter =
+          value.chars().allMatch(Character::isDigit)
+              ? Duration.ofSeconds(Long.parseLong(value))
+              : Duration.between(Instant.now(), parseHttpDate(value));
+      return retryAfter.isNegative() ? Duration.ZERO : retryAfter;
+    } catch (RuntimeException e) {
+      log.warn("Ignoring invalid Retry-After: {}", value);
+      return null;
     }
   }
 
-  private JsonNode findClosestForecast(JsonNode timeSeries, Instant eventStartTime) {
-    JsonNode closestNode = null;
-    var timeDiference = Long.MAX_VALUE;
-    for (var node : timeSeries) {
-      var time = node.path("time").asText();
-      var forecastTime = Instant.parse(time);
-      var difference = Math.abs(Duration.between(eventStartTime, forecastTime).toSeconds());
-      if (difference < timeDiference) {
-        timeDiference = difference;
-        closestNode = node;
+  private LocationForecast readLocationForecast(
+      HttpResponse<byte[]> response, LocationForecast cached) {
+    if (response.statusCode() == 304) {
+      log.info("Weather data not modified since last fetch");
+      if (cached == null) {
+        return null;
+      }
+      var expires = response.headers().firstValue("Expires").orElse(null);
+      if (expires == null) {
+        return cached;
       }
+      try {
+        return cached.withExpiresAt(parseHttpDate(expires));
+      } catch (RuntimeException e) {
+        // the timeseries is still confirmed, only its new expiry is unknown
+        log.warn("Ignoring invalid Expires on a not modified response: {}", expires);
+        return cached;
+      }
+    }
+    if (response.statusCode() >= 200 && response.statusCode() < 300) {
+      log.info("Weather data fetched successfully");
+      return parseWeatherData(response);
+    }
+    return null;
+  }
+
+  private LocationForecast parseWeatherData(HttpResponse<byte[]> response) {
+    try (var parser = objectMapper.getFactory().createParser(body(response))) {
+      var lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+      var expires = response.headers().firstValue("Expires").orElse(null);
+
+      // timesteps past the forecast horizon are never served, stop reading once we reach them
+      var horizon =
+          Instant.now().plus(forecastProperties.getRefresh().getHorizon()).plus(PARSE_SLACK);
+      return MetForecastParser.parse(
+          parser, horizon, parseHttpDate(expires), parseHttpDate(lastModified));
+    } catch (Exception e) {
+      log.error("Error while parsing Weather Forecast", e);
+      return null;
     }
-    return closestNode;
+  }
+
+  private static InputStream body(HttpResponse<byte[]> response) throws IOException {
+    InputStream body = new ByteArrayInputStream(response.body());
+    var encoding = response.headers().firstValue("Content-Encoding").orElse("");
+    return encoding.equalsIgnoreCase("gzip") ? new GZIPInputStream(body) : body;
+  }
+
+  private Instant parseHttpDate(String value) {
+    return Instant.from(HTTP_DATE_FORMATTER.parse(value));
+  }
+
+  private ForecastData currentForecastData(Event event) {
+    return ForecastData.builder()
+        .airTemperature(event.getAirTemperature())
+        .windSpeed(event.getWindSpeed())
+        .forecastExpiresAt(event.getForecastExpiresAt())
+        .forecastLastModifiedAt(event.getForecastLastModifiedAt())
+        .build();
   }
 }
@@ -0,0 +1,94 @@
+package com.junaid.spond.services;
+
+import com.junaid.spond.configs.ForecastProperties;
+import com.junaid.spond.mappers.EventMapper;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.models.ForecastData;
+import com.junaid.spond.models.ForecastKey;
+import com.junaid.spond.repositories.ForecastRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes forecasts fetched on the read path back to the database in batches, on the scheduler
+ * rather than in the request. Reads never hold a database connection while they wait on MET.
+ * Several forecasts queued for the same cell and hour are merged, only the newest is written.
+ */
+@Service
+@Slf4j
+public class ForecastWriteBehind {
+  @Autowired private ForecastRepository forecastRepository;
+
+  @Autowired private ForecastProperties forecastProperties;
+
+  private final Map<ForecastKey, ForecastData> pending = new ConcurrentHashMap<>();
+
+  public ForecastWriteBehind(MeterRegistry meterRegistry) {
+    meterRegistry.gaugeMapSize("spond.forecast.write-behind.pending", Tags.empty(), pending);
+  }
+
+  public void enqueue(Event event, ForecastData forecastData) {
+    var key = event.forecastKey();
+    if (key == null) {
+      return;
+    }
+    pending.merge(
+        key,
+        forecastData,
+        (queued, added) -> expiresAfter(queued, added.getForecastExpiresAt()) ? queued : added);
+  }
+
+  /** Applies the forecast still queued for the event, if it is newer than the loaded one. */
+  public void applyPending(Event event) {
+    var key = event.forecastKey();
+    var queued = key == null ? null : pending.get(key);
+    if (queued != null && expiresAfter(queued, event.getForecastExpiresAt())) {
+      EventMapper.applyForecast(event, queued);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${spond.forecast.write-behind.interval:PT1S}")
+  public synchronized void flush() {
+    var batchSize = forecastProperties.getWriteBehind().getBatchSize();
+    while (!pending.isEmpty()) {
+      var batch = new ArrayList<Map.Entry<ForecastKey, ForecastData>>();
+      for (var entry : pending.entrySet()) {
+        batch.add(Map.entry(entry.getKey(), entry.getValue()));
+        if (batch.size() >= batchSize) {
+          break;
+        }
+      }
+      try {
+        forecastRepository.upsertAll(
+            batch.stream()
+                .map(entry -> EventMapper.toForecast(entry.getKey(), entry.getValue()))
+                .toList());
+      } catch (RuntimeException e) {
+        log.warn("Could not write {} forecasts, trying again on the next flush", batch.size(), e);
+        return;
+      }
+      // forecasts queued again meanwhile stay for the next batch
+      batch.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    flush();
+  }
+
+  private static boolean expiresAfter(ForecastData forecastData, Instant expiresAt) {
+    return expiresAt == null
+        || (forecastData.getForecastExpiresAt() != null
+            && forecastData.getForecastExpiresAt().isAfter(expiresAt));
+  }
+}
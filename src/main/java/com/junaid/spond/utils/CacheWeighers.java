@@ -0,0 +1,32 @@
+package com.junaid.spond.utils;
+
+import com.junaid.spond.models.EventSnapshot;
+import com.junaid.spond.models.LocationForecast;
+
+/**
+ * Rough retained sizes of cache entries in bytes, for caches bounded by weight rather than by entry
+ * count. Only the parts that vary between entries need to be right, the fixed overhead is a
+ * constant.
+ */
+public class CacheWeighers {
+  // object headers, boxed numbers, instants and the cache's own node
+  private static final int EVENT_OVERHEAD = 320;
+  private static final int LOCATION_FORECAST_OVERHEAD = 200;
+
+  private CacheWeighers() {}
+
+  public static int event(Object key, EventSnapshot event) {
+    var serialized = event.serialized() == null ? 0 : 40 + event.serialized().json().length;
+    return EVENT_OVERHEAD + chars(event.name()) + chars(event.description()) + serialized;
+  }
+
+  public static int locationForecast(Object key, LocationForecast forecast) {
+    // a long and two doubles per timestep
+    return LOCATION_FORECAST_OVERHEAD + forecast.getTimes().length * 24;
+  }
+
+  private static int chars(String value) {
+    // latin-1 strings take a byte per character
+    return value == null ? 0 : 40 + value.length();
+  }
+}
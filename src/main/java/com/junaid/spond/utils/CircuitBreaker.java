@@ -0,0 +1,84 @@
+package com.junaid.spond.utils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Stops calling an upstream that keeps failing. After {@code failureThreshold} failures in a row
+ * the circuit opens and calls are rejected without being made. Once it has been open for {@code
+ * openDuration} a single probe is let through: its success closes the circuit again, its failure
+ * opens it for another {@code openDuration}.
+ */
+public class CircuitBreaker {
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final int failureThreshold;
+  private final Duration openDuration;
+  private final Clock clock;
+
+  private State state = State.CLOSED;
+  private int failures;
+  private Instant openUntil = Instant.MIN;
+
+  public CircuitBreaker(int failureThreshold, Duration openDuration) {
+    this(failureThreshold, openDuration, Clock.systemUTC());
+  }
+
+  public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+    this.failureThreshold = failureThreshold;
+    this.openDuration = openDuration;
+    this.clock = clock;
+  }
+
+  /**
+   * Whether a call may be made now. Every permitted call must report back through {@link
+   * #onSuccess} or {@link #onFailure}, while the half-open probe is in flight other calls are
+   * rejected.
+   */
+  public synchronized boolean tryAcquire() {
+    return switch (state) {
+      case CLOSED -> true;
+      case HALF_OPEN -> false;
+      case OPEN -> {
+        if (clock.instant().isBefore(openUntil)) {
+          yield false;
+        }
+        state = State.HALF_OPEN;
+        yield true;
+      }
+    };
+  }
+
+  public synchronized void onSuccess() {
+    state = State.CLOSED;
+    failures = 0;
+  }
+
+  public synchronized void onFailure() {
+    failures++;
+    if (state == State.HALF_OPEN || failures >= failureThreshold) {
+      openFor(openDuration);
+    }
+  }
+
+  /**
+   * Opens the circuit for at least {@code duration}, e.g. for the Retry-After a server asked for.
+   * An open circuit that would stay open longer is left as it is.
+   */
+  public synchronized void openFor(Duration duration) {
+    var until = clock.instant().plus(duration);
+    if (state != State.OPEN || until.isAfter(openUntil)) {
+      openUntil = until;
+    }
+    state = State.OPEN;
+  }
+
+  public synchronized State state() {
+    return state;
+  }
+}
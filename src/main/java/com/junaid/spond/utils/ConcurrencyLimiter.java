@@ -0,0 +1,64 @@
+package com.junaid.spond.utils;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many asynchronous calls run at the same time with a semaphore. Calls over the limit wait
+ * in a queue and start when a running call completes, no thread blocks while waiting, whether it is
+ * a platform or a virtual one.
+ */
+public class ConcurrencyLimiter {
+  private final Semaphore permits;
+  private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+  public ConcurrencyLimiter(int maxConcurrent) {
+    this.permits = new Semaphore(maxConcurrent);
+  }
+
+  public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+    var result = new CompletableFuture<T>();
+    waiting.add(() -> start(call, result));
+    drain();
+    return result;
+  }
+
+  public int queued() {
+    return waiting.size();
+  }
+
+  private <T> void start(Supplier<CompletableFuture<T>> call, CompletableFuture<T> result) {
+    CompletableFuture<T> running;
+    try {
+      running = call.get();
+    } catch (RuntimeException e) {
+      running = CompletableFuture.failedFuture(e);
+    }
+    running.whenComplete(
+        (value, error) -> {
+          permits.release();
+          drain();
+          if (error != null) {
+            result.completeExceptionally(error);
+          } else {
+            result.complete(value);
+          }
+        });
+  }
+
+  // both execute and a completing call add or release first and check second, so a queued call is
+  // never left behind with a free permit
+  private void drain() {
+    while (!waiting.isEmpty() && permits.tryAcquire()) {
+      var next = waiting.poll();
+      if (next == null) {
+        permits.release();
+      } else {
+        next.run();
+      }
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.junaid.spond.utils;
+
+/**
+ * Fixed-point handling of coordinates. Latitude and longitude are kept to 4 decimals (about 11
+ * meters), which is also the most precision the MET api accepts.
+ */
+public class Coordinates {
+  public static final int SCALE = 10_000;
+
+  private Coordinates() {}
+
+  /**
+   * Degrees as a fixed-point number of 1/10000 degree, rounding half away from zero. The binary
+   * value is rounded, not its decimal form, so a tie like 1.5E-4 that is stored just below the half
+   * rounds down where {@code %.4f} would round up. Values outside ±180 are rejected, they are not
+   * valid coordinates, and very large ones would overflow the int once scaled.
+   */
+  public static int toFixed(double degrees) {
+    if (!(Math.abs(degrees) <= 180)) {
+      throw new IllegalArgumentException("Coordinate out of range: " + degrees);
+    }
+    var scaled = Math.round(Math.abs(degrees) * SCALE);
+    return (int) (degrees < 0 ? -scaled : scaled);
+  }
+
+  public static double toDegrees(int fixed) {
+    return fixed / (double) SCALE;
+  }
+
+  public static Double round(Double degrees) {
+    return degrees == null ? null : toDegrees(toFixed(degrees));
+  }
+
+  /** Formats a fixed-point coordinate with 4 decimals, independent of the JVM locale. */
+  public static String format(int fixed) {
+    var sb = new StringBuilder(12);
+    if (fixed < 0) {
+      sb.append('-');
+    }
+    var abs = Math.abs(fixed);
+    sb.append(abs / SCALE).append('.');
+    var fraction = abs % SCALE;
+    for (var divisor = SCALE / 10; divisor > 0; divisor /= 10) {
+      sb.append((char) ('0' + fraction / divisor % 10));
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,64 @@
+package com.junaid.spond.utils;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.junaid.spond.models.EventSnapshot;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Expires a cached event when its forecast does, at the time MET's Expires header gave for it, or
+ * after {@code maxAge} if that comes first. Events without a forecast expire right away. Reads
+ * don't extend an entry, updates recompute it.
+ */
+public class ForecastExpiry implements Expiry<Object, EventSnapshot> {
+  private final Duration maxAge;
+
+  public ForecastExpiry() {
+    this(null);
+  }
+
+  public ForecastExpiry(Duration maxAge) {
+    this.maxAge = maxAge;
+  }
+
+  @Override
+  public long expireAfterCreate(Object key, EventSnapshot event, long currentTime) {
+    return untilExpired(event);
+  }
+
+  @Override
+  public long expireAfterUpdate(
+      Object key, EventSnapshot event, long currentTime, long currentDuration) {
+    return untilExpired(event);
+  }
+
+  @Override
+  public long expireAfterRead(
+      Object key, EventSnapshot event, long currentTime, long currentDuration) {
+    return currentDuration;
+  }
+
+  /** How long the event may still be cached, zero once its forecast expired. */
+  public Duration timeToLive(EventSnapshot event) {
+    if (event.forecastExpiresAt() == null) {
+      return Duration.ZERO;
+    }
+    var remaining = Duration.between(Instant.now(), event.forecastExpiresAt());
+    if (remaining.isNegative()) {
+      return Duration.ZERO;
+    }
+    if (maxAge != null && remaining.compareTo(maxAge) > 0) {
+      return maxAge;
+    }
+    return remaining;
+  }
+
+  private long untilExpired(EventSnapshot event) {
+    try {
+      return timeToLive(event).toNanos();
+    } catch (ArithmeticException e) {
+      // further out than a long of nanoseconds reaches
+      return Long.MAX_VALUE;
+    }
+  }
+}
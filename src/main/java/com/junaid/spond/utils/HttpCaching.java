@@ -0,0 +1,57 @@
+package com.junaid.spond.utils;
+
+import com.junaid.spond.dtos.EventResponse;
+import com.junaid.spond.dtos.EventSummary;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.http.CacheControl;
+import org.springframework.util.DigestUtils;
+
+/**
+ * ETags and Cache-Control for event responses. An event's ETag changes whenever the event is
+ * updated or gets a forecast with a new Last-Modified, and clients may reuse a response until its
+ * forecast expires.
+ */
+public class HttpCaching {
+  private HttpCaching() {}
+
+  public static String etag(EventResponse event) {
+    return "\"" + tag(event.getId(), event.getVersion(), event.getForecastLastModifiedAt()) + "\"";
+  }
+
+  /** One ETag for a page of events, {@code page} holds whatever else is in the page body. */
+  public static String etag(List<EventSummary> events, Object... page) {
+    var tags = new StringBuilder();
+    for (var part : page) {
+      tags.append(part).append(';');
+    }
+    for (var event : events) {
+      tags.append(tag(event.id(), event.version(), event.forecastLastModifiedAt())).append(';');
+    }
+    return "\""
+        + DigestUtils.md5DigestAsHex(tags.toString().getBytes(StandardCharsets.UTF_8))
+        + "\"";
+  }
+
+  /** max-age until the forecast expires, responses without a live forecast are revalidated. */
+  public static CacheControl cacheControl(Instant forecastExpiresAt) {
+    if (forecastExpiresAt == null) {
+      return CacheControl.noCache();
+    }
+    var maxAge = Duration.between(Instant.now(), forecastExpiresAt);
+    if (maxAge.toSeconds() <= 0) {
+      return CacheControl.noCache();
+    }
+    return CacheControl.maxAge(Duration.ofSeconds(maxAge.toSeconds())).cachePublic();
+  }
+
+  private static String tag(Long id, Long version, Instant lastModified) {
+    return id
+        + "-"
+        + (version == null ? 0 : version)
+        + "-"
+        + (lastModified == null ? 0 : lastModified.toEpochMilli());
+  }
+}
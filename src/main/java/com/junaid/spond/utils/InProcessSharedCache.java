@@ -0,0 +1,100 @@
+package com.junaid.spond.utils;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Stand-in for a shared cache server, for tests and single instance runs. Entries live in this JVM
+ * only. Nodes created with {@link #join()} share the entries and hear about each other's writes,
+ * the way separate instances connected to the same server would.
+ */
+public class InProcessSharedCache<K, V> implements SharedCache<K, V> {
+  private final Cluster<K, V> cluster;
+  private final List<Consumer<K>> listeners = new CopyOnWriteArrayList<>();
+
+  /** First node of a new cluster, {@code timeToLive} decides how long each value is kept. */
+  public InProcessSharedCache(Function<V, Duration> timeToLive) {
+    this(new Cluster<>(timeToLive));
+  }
+
+  private InProcessSharedCache(Cluster<K, V> cluster) {
+    this.cluster = cluster;
+    cluster.nodes.add(this);
+  }
+
+  /** Another node of the same cluster. */
+  public InProcessSharedCache<K, V> join() {
+    return new InProcessSharedCache<>(cluster);
+  }
+
+  @Override
+  public V get(K key) {
+    var entry = cluster.entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (!Instant.now().isBefore(entry.expiresAt())) {
+      cluster.entries.remove(key, entry);
+      return null;
+    }
+    return entry.value();
+  }
+
+  @Override
+  public void put(K key, V value) {
+    var timeToLive = cluster.timeToLive.apply(value);
+    if (timeToLive.isNegative() || timeToLive.isZero()) {
+      cluster.entries.remove(key);
+    } else {
+      cluster.entries.put(key, new Entry<>(value, expiresAt(timeToLive)));
+    }
+    publish(key);
+  }
+
+  @Override
+  public void invalidate(K key) {
+    cluster.entries.remove(key);
+    publish(key);
+  }
+
+  @Override
+  public void onInvalidation(Consumer<K> listener) {
+    listeners.add(listener);
+  }
+
+  // like a pub/sub channel, every node but the sender hears about the key
+  private void publish(K key) {
+    for (var node : cluster.nodes) {
+      if (node != this) {
+        node.listeners.forEach(listener -> listener.accept(key));
+      }
+    }
+  }
+
+  private static Instant expiresAt(Duration timeToLive) {
+    try {
+      return Instant.now().plus(timeToLive);
+    } catch (ArithmeticException | DateTimeException e) {
+      return Instant.MAX;
+    }
+  }
+
+  private record Entry<V>(V value, Instant expiresAt) {}
+
+  private static class Cluster<K, V> {
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final List<InProcessSharedCache<K, V>> nodes = new CopyOnWriteArrayList<>();
+    private final Function<V, Duration> timeToLive;
+
+    private Cluster(Function<V, Duration> timeToLive) {
+      this.timeToLive = timeToLive;
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package com.junaid.spond.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.junaid.spond.models.LocationForecast;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Streaming extractor for the MET locationforecast compact format. It reads the response token by
+ * token and keeps only the time, air temperature and wind speed of each timestep, skipping every
+ * other field without building a tree.
+ */
+public class MetForecastParser {
+  private static final int INITIAL_CAPACITY = 96;
+
+  private MetForecastParser() {}
+
+  /**
+   * Parses the timeseries until the first timestep after {@code horizon}, the rest of the response
+   * is never read.
+   */
+  public static LocationForecast parse(
+      JsonParser parser, Instant horizon, Instant expiresAt, Instant lastModifiedAt)
+      throws IOException {
+    var timeseries = new Timeseries();
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new IOException("Weather Forecast is not a json object");
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var field = parser.currentName();
+      parser.nextToken();
+      if ("properties".equals(field)) {
+        readProperties(parser, timeseries, horizon.getEpochSecond());
+        break;
+      }
+      parser.skipChildren();
+    }
+
+    if (timeseries.size == 0) {
+      throw new IOException("Weather Forecast has no timeseries");
+    }
+    return timeseries.toLocationForecast(expiresAt, lastModifiedAt);
+  }
+
+  private static void readProperties(JsonParser parser, Timeseries timeseries, long horizon)
+      throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var field = parser.currentName();
+      if (parser.nextToken() == JsonToken.START_ARRAY && "timeseries".equals(field)) {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          readTimestep(parser, timeseries);
+          if (timeseries.lastTime() > horizon) {
+            return;
+          }
+        }
+        return;
+      }
+      parser.skipChildren();
+    }
+  }
+
+  private static void readTimestep(JsonParser parser, Timeseries timeseries) throws IOException {
+    var time = Long.MIN_VALUE;
+    var airTemperature = Double.NaN;
+    var windSpeed = Double.NaN;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var field = parser.currentName();
+      var token = parser.nextToken();
+      if ("time".equals(field) && token == JsonToken.VALUE_STRING) {
+        time =
+            parseEpochSecond(
+                parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+      } else if ("data".equals(field) && token == JsonToken.START_OBJECT) {
+        // data -> instant -> details
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          var dataField = parser.currentName();
+          if (parser.nextToken() == JsonToken.START_OBJECT && "instant".equals(dataField)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+              var instantField = parser.currentName();
+              if (parser.nextToken() == JsonToken.START_OBJECT && "details".equals(instantField)) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                  var detail = parser.currentName();
+                  var value = parser.nextToken();
+                  if (value.isNumeric() && "air_temperature".equals(detail)) {
+                    airTemperature = parser.getDoubleValue();
+                  } else if (value.isNumeric() && "wind_speed".equals(detail)) {
+                    windSpeed = parser.getDoubleValue();
+                  } else {
+                    parser.skipChildren();
+                  }
+                }
+              } else {
+                parser.skipChildren();
+              }
+            }
+          } else {
+            parser.skipChildren();
+          }
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+    if (time != Long.MIN_VALUE) {
+      timeseries.add(time, airTemperature, windSpeed);
+    }
+  }
+
+  /**
+   * Parses MET timestamps such as {@code 2025-05-10T10:00:00Z} straight from the parser's buffer.
+   * Anything not in exactly that shape goes through {@link Instant#parse}.
+   */
+  static long parseEpochSecond(char[] chars, int offset, int length) {
+    if (length != 20
+        || chars[offset + 4] != '-'
+        || chars[offset + 7] != '-'
+        || chars[offset + 10] != 'T'
+        || chars[offset + 13] != ':'
+        || chars[offset + 16] != ':'
+        || chars[offset + 19] != 'Z') {
+      return Instant.parse(new String(chars, offset, length)).getEpochSecond();
+    }
+    var year = digits(chars, offset, 4);
+    var month = digits(chars, offset + 5, 2);
+    var day = digits(chars, offset + 8, 2);
+    var hour = digits(chars, offset + 11, 2);
+    var minute = digits(chars, offset + 14, 2);
+    var second = digits(chars, offset + 17, 2);
+    return epochDay(year, month, day) * 86_400L + hour * 3_600L + minute * 60L + second;
+  }
+
+  private static int digits(char[] chars, int offset, int count) {
+    var value = 0;
+    for (var i = offset; i < offset + count; i++) {
+      var digit = chars[i] - '0';
+      if (digit < 0 || digit > 9) {
+        throw new IllegalArgumentException(
+            "Invalid forecast time " + new String(chars, offset, count));
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  // days since 1970-01-01 in the proleptic gregorian calendar
+  private static long epochDay(int year, int month, int day) {
+    var y = month <= 2 ? year - 1 : year;
+    var era = Math.floorDiv(y, 400);
+    var yearOfEra = y - era * 400;
+    var dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+    var dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146_097L + dayOfEra - 719_468L;
+  }
+
+  private static class Timeseries {
+    private long[] times = new long[INITIAL_CAPACITY];
+    private double[] airTemperatures = new double[INITIAL_CAPACITY];
+    private double[] windSpeeds = new double[INITIAL_CAPACITY];
+    private int size;
+
+    void add(long time, double airTemperature, double windSpeed) {
+      if (size == times.length) {
+        times = Arrays.copyOf(times, size * 2);
+        airTemperatures = Arrays.copyOf(airTemperatures, size * 2);
+        windSpeeds = Arrays.copyOf(windSpeeds, size * 2);
+      }
+      times[size] = time;
+      airTemperatures[size] = airTemperature;
+      windSpeeds[size] = windSpeed;
+      size++;
+    }
+
+    long lastTime() {
+      return size == 0 ? Long.MIN_VALUE : times[size - 1];
+    }
+
+    LocationForecast toLocationForecast(Instant expiresAt, Instant lastModifiedAt) {
+      return new LocationForecast(
+          Arrays.copyOf(times, size),
+          Arrays.copyOf(airTemperatures, size),
+          Arrays.copyOf(windSpeeds, size),
+          expiresAt,
+          lastModifiedAt);
+    }
+  }
+}
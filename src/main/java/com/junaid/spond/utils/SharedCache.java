@@ -0,0 +1,24 @@
+package com.junaid.spond.utils;
+
+import java.util.function.Consumer;
+
+/**
+ * Second cache tier shared by every instance of the app, e.g. Redis or Hazelcast. The Caffeine
+ * caches stay in front of it, a local miss falls back to this tier before the database or the MET
+ * api. Writes and invalidations are announced to the other instances so they drop their local copy
+ * of the key.
+ */
+public interface SharedCache<K, V> {
+
+  /** The shared entry, or null when no instance cached the key or it expired. */
+  V get(K key);
+
+  /** Stores the value for every instance, the others are told to drop their local copy. */
+  void put(K key, V value);
+
+  /** Removes the key for every instance, the others are told to drop their local copy. */
+  void invalidate(K key);
+
+  /** Called with every key another instance wrote or invalidated. */
+  void onInvalidation(Consumer<K> listener);
+}
@@ -0,0 +1,84 @@
+package com.junaid.spond.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key. The first caller runs the loader, every caller that
+ * arrives while it is running waits for and shares its result instead of running it again.
+ */
+public class SingleFlight<K, V> {
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  public V execute(K key, Supplier<V> loader) {
+    var future = new CompletableFuture<V>();
+    var existing = inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      return join(existing);
+    }
+
+    try {
+      var value = loader.get();
+      future.complete(value);
+      return value;
+    } catch (Throwable e) {
+      // errors too, a waiter left on an uncompleted future would block forever
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  /**
+   * Same as {@link #execute} for loaders that are already asynchronous. Callers arriving before the
+   * loader's future completes get that future instead of starting another load.
+   */
+  public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> loader) {
+    var future = new CompletableFuture<V>();
+    var existing = inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      return existing;
+    }
+
+    try {
+      loader
+          .get()
+          .whenComplete(
+              (value, error) -> {
+                // forget the call before completing it, later callers start a fresh load
+                inFlight.remove(key, future);
+                if (error != null) {
+                  future.completeExceptionally(error);
+                } else {
+                  future.complete(value);
+                }
+              });
+    } catch (RuntimeException e) {
+      inFlight.remove(key, future);
+      future.completeExceptionally(e);
+    } catch (Error e) {
+      inFlight.remove(key, future);
+      future.completeExceptionally(e);
+      throw e;
+    }
+    return future;
+  }
+
+  private V join(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      // rethrow what the loader threw so waiters fail the same way the leader did
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
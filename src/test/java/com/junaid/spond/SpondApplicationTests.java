@@ -1,11 +1,60 @@
 package com.junaid.spond;
 
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.junaid.spond.mappers.EventMapper;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.models.EventSnapshot;
+import com.junaid.spond.utils.InProcessSharedCache;
+import com.junaid.spond.utils.SharedCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
 
 @SpringBootTest
 class SpondApplicationTests {
 
+  @Autowired private MeterRegistry meterRegistry;
+
   @Test
   void contextLoads() {}
+
+  @Test
+  void testCacheMetricsAreExported() {
+    for (var cache : new String[] {"events", "locationForecasts"}) {
+      assertNotNull(meterRegistry.find("cache.gets").tags("cache", cache, "result", "hit").meter());
+      assertNotNull(meterRegistry.find("cache.evictions").tag("cache", cache).meter());
+    }
+  }
+
+  @Nested
+  @TestPropertySource(properties = "spond.cache.shared.type=in-process")
+  class WithSharedCache {
+
+    @Autowired private Cache<Long, EventSnapshot> forecastCache;
+
+    @Autowired private SharedCache<Long, EventSnapshot> sharedEventCache;
+
+    @Test
+    void testWriteOnAnotherInstanceDropsLocalCopy() {
+      var snapshot =
+          EventMapper.toSnapshot(
+              Event.builder()
+                  .id(42L)
+                  .forecastExpiresAt(Instant.now().plus(Duration.ofHours(1)))
+                  .build());
+      forecastCache.put(42L, snapshot);
+
+      ((InProcessSharedCache<Long, EventSnapshot>) sharedEventCache).join().put(42L, snapshot);
+
+      assertNull(forecastCache.getIfPresent(42L));
+    }
+  }
 }
@@ -0,0 +1,95 @@
+package com.junaid.spond.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.junaid.spond.mappers.EventMapper;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.models.EventSnapshot;
+import com.junaid.spond.repositories.EventRepository;
+import com.junaid.spond.services.ForecastRefreshService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+
+class CacheWarmerTest {
+
+  @Mock private EventRepository eventRepository;
+  @Mock private ForecastRefreshService forecastRefreshService;
+  @Spy private Cache<Long, EventSnapshot> forecastCache = Caffeine.newBuilder().build();
+  @Spy private CacheProperties cacheProperties = new CacheProperties();
+  @Spy private ForecastProperties forecastProperties = new ForecastProperties();
+
+  @InjectMocks private CacheWarmer cacheWarmer;
+
+  private Event upcomingEvent;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    upcomingEvent =
+        Event.builder()
+            .id(1L)
+            .name("Sample Event")
+            .startDateTime(Instant.now().plus(Duration.ofDays(1)))
+            .forecastExpiresAt(Instant.now().plus(Duration.ofHours(1)))
+            .build();
+  }
+
+  @Test
+  void testRun_LoadsUpcomingEventsWithOneQuery() {
+    // Arrange
+    when(eventRepository.findWithValidForecasts(any(), any(), any(), any()))
+        .thenReturn(List.of(upcomingEvent));
+
+    // Act
+    cacheWarmer.run();
+
+    // Assert
+    assertEquals(EventMapper.toSnapshot(upcomingEvent), forecastCache.getIfPresent(1L));
+    verify(eventRepository).findWithValidForecasts(any(), any(), any(), any(Limit.class));
+    verify(eventRepository, never()).findById(any());
+    verifyNoInteractions(forecastRefreshService);
+  }
+
+  @Test
+  void testRun_PrefetchesExpiredForecastsFirst() {
+    // Arrange
+    cacheProperties.getWarmUp().setPrefetchExpired(true);
+    when(eventRepository.findWithValidForecasts(any(), any(), any(), any())).thenReturn(List.of());
+
+    // Act
+    cacheWarmer.run();
+
+    // Assert
+    var order = inOrder(forecastRefreshService, eventRepository);
+    order.verify(forecastRefreshService).refreshExpiringForecasts();
+    order.verify(eventRepository).findWithValidForecasts(any(), any(), any(), any());
+  }
+
+  @Test
+  void testRun_Disabled() {
+    // Arrange
+    cacheProperties.getWarmUp().setEnabled(false);
+
+    // Act
+    cacheWarmer.run();
+
+    // Assert
+    verifyNoInteractions(eventRepository, forecastRefreshService);
+  }
+}
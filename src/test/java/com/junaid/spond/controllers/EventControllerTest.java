@@ -1,30 +1,56 @@
 package com.junaid.spond.controllers;
 
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junaid.spond.dtos.BatchEventResponse;
+import com.junaid.spond.dtos.BatchItemResult;
+import com.junaid.spond.dtos.CursorPageResponse;
+import com.junaid.spond.dtos.EventFilter;
+import com.junaid.spond.dtos.EventLookupRequest;
+import com.junaid.spond.dtos.EventLookupResponse;
 import com.junaid.spond.dtos.EventResponse;
+import com.junaid.spond.dtos.EventSummary;
+import com.junaid.spond.dtos.ExportFormat;
 import com.junaid.spond.dtos.NewEventRequest;
 import com.junaid.spond.dtos.PageableResponse;
+import com.junaid.spond.exceptions.BadRequestException;
+import com.junaid.spond.exceptions.ValidationError;
+import com.junaid.spond.models.SerializedEvent;
+import com.junaid.spond.services.EventExportService;
+import com.junaid.spond.services.EventImportService;
 import com.junaid.spond.services.EventService;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @WebMvcTest(EventController.class)
 class EventControllerTest {
@@ -33,6 +59,10 @@ class EventControllerTest {
 
   @MockitoBean private EventService eventService;
 
+  @MockitoBean private EventImportService eventImportService;
+
+  @MockitoBean private EventExportService eventExportService;
+
   @Autowired private ObjectMapper objectMapper;
 
   @BeforeEach
@@ -107,6 +137,30 @@ class EventControllerTest {
         .andExpect(jsonPath("$.errors.name[0].message").value("Name is required"));
   }
 
+  @Test
+  void testCreateEvent_CoordinatesOutOfRange() throws Exception {
+    var newEventRequest =
+        NewEventRequest.builder()
+            .name("Sample Event")
+            .latitude(91.0)
+            .longitude(10.75)
+            .startDateTime(Instant.parse("2025-05-10T10:00:00Z"))
+            .endDateTime(Instant.parse("2025-05-10T12:00:00Z"))
+            .build();
+
+    mockMvc
+        .perform(
+            post("/api/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newEventRequest)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors.latitude[0].code").value("DecimalMax"))
+        .andExpect(
+            jsonPath("$.errors.latitude[0].message").value("Latitude must be between -90 and 90"));
+
+    verify(eventService, never()).saveEvent(any(NewEventRequest.class));
+  }
+
   @Test
   void testGetEventById() throws Exception {
     Long eventId = 1L;
@@ -139,21 +193,147 @@ class EventControllerTest {
     verify(eventService, times(1)).getEventById(eventId);
   }
 
+  @Test
+  void testGetEventById_WritesSerializedEvent() throws Exception {
+    Long eventId = 1L;
+    var json = "{\"id\":1,\"name\":\"Sample Event\"}".getBytes(StandardCharsets.UTF_8);
+    when(eventService.getSerializedEvent(eventId))
+        .thenReturn(
+            new SerializedEvent(
+                json, "\"1-0-1746871200000\"", Instant.now().plus(Duration.ofMinutes(30)), false));
+
+    mockMvc
+        .perform(get("/api/events/{id}", eventId))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"1-0-1746871200000\""))
+        .andExpect(header().string("Cache-Control", matchesPattern("max-age=1(799|800), public")))
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(content().bytes(json));
+
+    verify(eventService, never()).getEventById(any());
+  }
+
+  @Test
+  void testGetEventById_StaleSerializedEventIsNotStored() throws Exception {
+    Long eventId = 1L;
+    var json = "{\"id\":1,\"forecastStale\":true}".getBytes(StandardCharsets.UTF_8);
+    when(eventService.getSerializedEvent(eventId))
+        .thenReturn(
+            new SerializedEvent(
+                json, "\"1-0-1746871200000\"", Instant.now().minus(Duration.ofMinutes(5)), true));
+
+    mockMvc
+        .perform(get("/api/events/{id}", eventId))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Cache-Control", "no-store"))
+        .andExpect(header().doesNotExist("ETag"))
+        .andExpect(content().bytes(json));
+  }
+
+  @Test
+  void testGetEventById_SetsETagAndCacheControl() throws Exception {
+    // Arrange
+    var eventResponse =
+        EventResponse.builder()
+            .id(1L)
+            .name("Sample Event")
+            .version(3L)
+            .forecastLastModifiedAt(Instant.parse("2025-05-10T10:00:00Z"))
+            .forecastExpiresAt(Instant.now().plus(Duration.ofMinutes(30)))
+            .build();
+    when(eventService.getEventById(1L)).thenReturn(eventResponse);
+
+    // Act & Assert
+    mockMvc
+        .perform(get("/api/events/{id}", 1L))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"1-3-1746871200000\""))
+        .andExpect(header().string("Cache-Control", matchesPattern("max-age=1(799|800), public")))
+        .andExpect(jsonPath("$.version").doesNotExist())
+        .andExpect(jsonPath("$.forecastExpiresAt").doesNotExist());
+  }
+
+  @Test
+  void testGetEventById_NotModified() throws Exception {
+    // Arrange
+    var eventResponse =
+        EventResponse.builder()
+            .id(1L)
+            .name("Sample Event")
+            .version(3L)
+            .forecastLastModifiedAt(Instant.parse("2025-05-10T10:00:00Z"))
+            .forecastExpiresAt(Instant.now().plus(Duration.ofMinutes(30)))
+            .build();
+    when(eventService.getEventById(1L)).thenReturn(eventResponse);
+
+    // Act & Assert
+    mockMvc
+        .perform(get("/api/events/{id}", 1L).header("If-None-Match", "\"1-3-1746871200000\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"1-3-1746871200000\""))
+        .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  void testGetEventById_StaleForecastIsNotStored() throws Exception {
+    // Arrange
+    var eventResponse =
+        EventResponse.builder()
+            .id(1L)
+            .name("Sample Event")
+            .version(3L)
+            .forecastStale(true)
+            .forecastStaleSeconds(120L)
+            .build();
+    when(eventService.getEventById(1L)).thenReturn(eventResponse);
+
+    // Act & Assert
+    mockMvc
+        .perform(get("/api/events/{id}", 1L))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("ETag"))
+        .andExpect(header().string("Cache-Control", "no-store"));
+  }
+
+  @Test
+  void testGetEvents_ETagChangesWithEvents() throws Exception {
+    // Arrange
+    var first = new PageableResponse<>(List.of(summary(1L, null, 0L)), 0, 1, 1);
+    var second = new PageableResponse<>(List.of(summary(1L, null, 1L)), 0, 1, 1);
+    when(eventService.getEvents(any(EventFilter.class), eq(0), eq(10)))
+        .thenReturn(first)
+        .thenReturn(first)
+        .thenReturn(second);
+
+    // Act
+    var etag =
+        mockMvc
+            .perform(get("/api/events"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", "no-cache"))
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+
+    // Assert
+    mockMvc
+        .perform(get("/api/events").header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+    mockMvc.perform(get("/api/events").header("If-None-Match", etag)).andExpect(status().isOk());
+  }
+
   @Test
   void testGetEvents_Success() throws Exception {
     // Arrange
     int page = 0;
     int size = 2;
 
-    List<EventResponse> eventResponses =
-        Arrays.asList(
-            EventResponse.builder().id(1L).name("Event 1").build(),
-            EventResponse.builder().id(2L).name("Event 2").build());
+    List<EventSummary> events = List.of(summary(1L, "Event 1", 0L), summary(2L, "Event 2", 0L));
 
-    PageableResponse<EventResponse> pageableResponse =
-        new PageableResponse<>(eventResponses, page, 1, 2);
+    PageableResponse<EventSummary> pageableResponse = new PageableResponse<>(events, page, 1, 2);
 
-    when(eventService.getEvents(page, size)).thenReturn(pageableResponse);
+    when(eventService.getEvents(any(EventFilter.class), eq(page), eq(size)))
+        .thenReturn(pageableResponse);
 
     // Act & Assert
     mockMvc
@@ -168,11 +348,13 @@ class EventControllerTest {
         .andExpect(jsonPath("$.data[0].name").value("Event 1"))
         .andExpect(jsonPath("$.data[1].id").value(2L))
         .andExpect(jsonPath("$.data[1].name").value("Event 2"))
+        .andExpect(jsonPath("$.data[0].version").doesNotExist())
+        .andExpect(jsonPath("$.data[0].forecastLastModifiedAt").doesNotExist())
         .andExpect(jsonPath("$.currentPage").value(0))
         .andExpect(jsonPath("$.totalPages").value(1))
         .andExpect(jsonPath("$.totalItems").value(2));
 
-    verify(eventService, times(1)).getEvents(page, size);
+    verify(eventService, times(1)).getEvents(any(EventFilter.class), eq(page), eq(size));
   }
 
   @Test
@@ -181,10 +363,10 @@ class EventControllerTest {
     int page = 0;
     int size = 2;
 
-    PageableResponse<EventResponse> pageableResponse =
-        new PageableResponse<>(List.of(), page, 0, 0);
+    PageableResponse<EventSummary> pageableResponse = new PageableResponse<>(List.of(), page, 0, 0);
 
-    when(eventService.getEvents(page, size)).thenReturn(pageableResponse);
+    when(eventService.getEvents(any(EventFilter.class), eq(page), eq(size)))
+        .thenReturn(pageableResponse);
 
     // Act & Assert
     mockMvc
@@ -199,6 +381,244 @@ class EventControllerTest {
         .andExpect(jsonPath("$.totalPages").value(0))
         .andExpect(jsonPath("$.totalItems").value(0));
 
-    verify(eventService, times(1)).getEvents(page, size);
+    verify(eventService, times(1)).getEvents(any(EventFilter.class), eq(page), eq(size));
+  }
+
+  @Test
+  void testGetEventsByCursor() throws Exception {
+    // Arrange
+    var cursorPage = new CursorPageResponse<>(List.of(summary(3L, "Event 3", 0L)), "next-cursor");
+
+    when(eventService.getEvents(any(EventFilter.class), eq("some-cursor"), eq(1)))
+        .thenReturn(cursorPage);
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/api/events")
+                .param("cursor", "some-cursor")
+                .param("size", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.length()").value(1))
+        .andExpect(jsonPath("$.data[0].id").value(3L))
+        .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+        .andExpect(jsonPath("$.totalItems").doesNotExist());
+
+    verify(eventService, times(1)).getEvents(any(EventFilter.class), eq("some-cursor"), eq(1));
+  }
+
+  @Test
+  void testGetEventsByCursor_InvalidCursor() throws Exception {
+    when(eventService.getEvents(any(EventFilter.class), eq("bad"), eq(10)))
+        .thenThrow(new BadRequestException("Invalid cursor"));
+
+    mockMvc
+        .perform(get("/api/events").param("cursor", "bad").contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Invalid cursor"));
+  }
+
+  @Test
+  void testGetEventsByIds() throws Exception {
+    // Arrange
+    var lookup =
+        new EventLookupResponse(
+            List.of(EventResponse.builder().id(3L).build(), EventResponse.builder().id(1L).build()),
+            List.of(2L));
+    when(eventService.getEventsByIds(List.of(3L, 1L, 2L))).thenReturn(lookup);
+
+    // Act & Assert
+    mockMvc
+        .perform(get("/api/events").param("ids", "3,1,2").contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Cache-Control", "no-store"))
+        .andExpect(jsonPath("$.data.length()").value(2))
+        .andExpect(jsonPath("$.data[0].id").value(3L))
+        .andExpect(jsonPath("$.data[1].id").value(1L))
+        .andExpect(jsonPath("$.missingIds[0]").value(2L));
+
+    verify(eventService, never()).getEvents(any(EventFilter.class), eq(0), eq(10));
+  }
+
+  @Test
+  void testGetEventsByIds_InvalidId() throws Exception {
+    mockMvc
+        .perform(get("/api/events").param("ids", "1,abc").contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.title").value("Bad Request"))
+        .andExpect(jsonPath("$.message").value("Invalid value for ids"));
+
+    verify(eventService, never()).getEventsByIds(any());
+  }
+
+  @Test
+  void testLookupEvents() throws Exception {
+    // Arrange
+    var lookup =
+        new EventLookupResponse(List.of(EventResponse.builder().id(1L).build()), List.of());
+    when(eventService.getEventsByIds(List.of(1L))).thenReturn(lookup);
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            post("/api/events/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EventLookupRequest(List.of(1L)))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data[0].id").value(1L))
+        .andExpect(jsonPath("$.missingIds.length()").value(0));
+
+    verify(eventService, times(1)).getEventsByIds(List.of(1L));
+  }
+
+  @Test
+  void testLookupEvents_EmptyIds() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/events/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": []}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors.ids[0].code").value("NotEmpty"));
+
+    verify(eventService, never()).getEventsByIds(any());
+  }
+
+  @Test
+  void testGetEvents_BindsFilters() throws Exception {
+    // Arrange
+    when(eventService.getEvents(any(EventFilter.class), eq(0), eq(10)))
+        .thenReturn(new PageableResponse<>(List.of(), 0, 0, 0));
+
+    // Act
+    mockMvc
+        .perform(
+            get("/api/events")
+                .param("from", "2025-05-10T00:00:00Z")
+                .param("to", "2025-05-17T00:00:00Z")
+                .param("lat", "59.91")
+                .param("lon", "10.75")
+                .param("radiusKm", "25")
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk());
+
+    // Assert
+    var filterCaptor = ArgumentCaptor.forClass(EventFilter.class);
+    verify(eventService).getEvents(filterCaptor.capture(), eq(0), eq(10));
+    var filter = filterCaptor.getValue();
+    assertEquals(Instant.parse("2025-05-10T00:00:00Z"), filter.getFrom());
+    assertEquals(Instant.parse("2025-05-17T00:00:00Z"), filter.getTo());
+    assertEquals(59.91, filter.getLat());
+    assertEquals(10.75, filter.getLon());
+    assertEquals(25.0, filter.getRadiusKm());
+    assertNull(filter.getMinLat());
+  }
+
+  @Test
+  void testExportEvents_Csv() throws Exception {
+    // Arrange
+    var from = Instant.parse("2025-05-10T00:00:00Z");
+    StreamingResponseBody body = out -> out.write("id\r\n1\r\n".getBytes());
+    when(eventExportService.exportEvents(from, null, ExportFormat.CSV)).thenReturn(body);
+
+    // Act
+    var result =
+        mockMvc
+            .perform(
+                get("/api/events/export")
+                    .param("format", "CSV")
+                    .param("from", "2025-05-10T00:00:00Z"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    // Assert
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+        .andExpect(header().string("Content-Disposition", "attachment; filename=\"events.csv\""))
+        .andExpect(header().string("Cache-Control", "no-store"))
+        .andExpect(content().string("id\r\n1\r\n"));
+  }
+
+  @Test
+  void testExportEvents_NdjsonByDefault() throws Exception {
+    // Arrange
+    StreamingResponseBody body = out -> out.write("{}\n".getBytes());
+    when(eventExportService.exportEvents(null, null, ExportFormat.NDJSON)).thenReturn(body);
+
+    // Act
+    var result =
+        mockMvc.perform(get("/api/events/export")).andExpect(request().asyncStarted()).andReturn();
+
+    // Assert
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "application/x-ndjson"))
+        .andExpect(content().string("{}\n"));
+  }
+
+  @Test
+  void testExportEvents_UnknownFormat() throws Exception {
+    mockMvc
+        .perform(get("/api/events/export").param("format", "xml"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("format must be ndjson or csv"));
+
+    verify(eventExportService, never()).exportEvents(any(), any(), any());
+  }
+
+  @Test
+  void testExportEvents_InvalidFrom() throws Exception {
+    mockMvc
+        .perform(get("/api/events/export").param("from", "bad"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Invalid value for from"));
+
+    verify(eventExportService, never()).exportEvents(any(), any(), any());
+  }
+
+  @Test
+  void testCreateEvents_AllCreated() throws Exception {
+    // Arrange
+    var batchResponse =
+        new BatchEventResponse(1, 0, List.of(BatchItemResult.builder().index(0).id(7L).build()));
+    when(eventImportService.importEvents(any(InputStream.class))).thenReturn(batchResponse);
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            post("/api/events/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"name\": \"Event 1\"}\n"))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.created").value(1))
+        .andExpect(jsonPath("$.items[0].id").value(7L))
+        .andExpect(jsonPath("$.items[0].errors").doesNotExist());
+  }
+
+  @Test
+  void testCreateEvents_PartialFailure() throws Exception {
+    // Arrange
+    var failed = BatchItemResult.builder().index(1).build();
+    failed.getErrors().put("name", List.of(new ValidationError("NotBlank", "Name is required")));
+    var batchResponse =
+        new BatchEventResponse(
+            1, 1, List.of(BatchItemResult.builder().index(0).id(7L).build(), failed));
+    when(eventImportService.importEvents(any(InputStream.class))).thenReturn(batchResponse);
+
+    // Act & Assert
+    mockMvc
+        .perform(post("/api/events/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+        .andExpect(status().isMultiStatus())
+        .andExpect(jsonPath("$.failed").value(1))
+        .andExpect(jsonPath("$.items[1].id").doesNotExist())
+        .andExpect(jsonPath("$.items[1].errors.name[0].code").value("NotBlank"));
+  }
+
+  private static EventSummary summary(Long id, String name, Long version) {
+    return new EventSummary(id, name, null, null, null, null, null, null, null, version, null);
   }
 }
@@ -1,11 +1,14 @@
 package com.junaid.spond.mappers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import com.junaid.spond.dtos.NewEventRequest;
 import com.junaid.spond.models.Event;
+import com.junaid.spond.models.ForecastData;
+import com.junaid.spond.models.ForecastKey;
 import java.time.Instant;
-import java.util.List;
+import java.util.Locale;
 import org.junit.jupiter.api.Test;
 
 public class EventMapperTest {
@@ -25,6 +28,55 @@ public class EventMapperTest {
     assertEquals(newEventRequest.getName(), event.getName());
   }
 
+  @Test
+  public void testMapToEvent_RoundsCoordinates() {
+    var newEventRequest =
+        NewEventRequest.builder()
+            .name("Sample Event")
+            .latitude(58.969975)
+            .longitude(-5.733149)
+            .startDateTime(Instant.parse("2025-05-10T10:00:00Z"))
+            .endDateTime(Instant.parse("2025-05-10T12:00:00Z"))
+            .build();
+    var event = EventMapper.toEntity(newEventRequest);
+    assertEquals(58.97, event.getLatitude());
+    assertEquals(-5.7331, event.getLongitude());
+  }
+
+  @Test
+  public void testMapToEvent_CommaDecimalLocale() {
+    var defaultLocale = Locale.getDefault();
+    Locale.setDefault(Locale.GERMANY);
+    try {
+      var newEventRequest =
+          NewEventRequest.builder()
+              .name("Sample Event")
+              .latitude(59.91234)
+              .longitude(10.75)
+              .startDateTime(Instant.parse("2025-05-10T10:00:00Z"))
+              .endDateTime(Instant.parse("2025-05-10T12:00:00Z"))
+              .build();
+      var event = EventMapper.toEntity(newEventRequest);
+      assertEquals(59.9123, event.getLatitude());
+      assertEquals(10.75, event.getLongitude());
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+  }
+
+  @Test
+  public void testMapToEvent_WithoutCoordinates() {
+    var newEventRequest =
+        NewEventRequest.builder()
+            .name("Sample Event")
+            .startDateTime(Instant.parse("2025-05-10T10:00:00Z"))
+            .endDateTime(Instant.parse("2025-05-10T12:00:00Z"))
+            .build();
+    var event = EventMapper.toEntity(newEventRequest);
+    assertNull(event.getLatitude());
+    assertNull(event.getLongitude());
+  }
+
   @Test
   public void testMapToEventResponse() {
     var event =
@@ -42,31 +94,57 @@ public class EventMapperTest {
   }
 
   @Test
-  public void testMapToEventResponseList() {
-    var event1 =
+  public void testMapSnapshotToEventResponse() {
+    var event =
         Event.builder()
             .id(1L)
-            .name("Sample Event 1")
-            .description("Sample Event Description 1")
+            .version(4L)
+            .name("Sample Event")
             .latitude(59.91)
             .longitude(10.75)
             .startDateTime(Instant.parse("2025-05-10T10:00:00Z"))
-            .endDateTime(Instant.parse("2025-05-10T12:00:00Z"))
+            .airTemperature(12.5)
+            .windSpeed(3.0)
+            .forecastExpiresAt(Instant.parse("2025-05-09T10:30:00Z"))
             .build();
-    var event2 =
+    var snapshot = EventMapper.toSnapshot(event);
+
+    // the snapshot does not follow later changes to the entity
+    event.setAirTemperature(20.0);
+
+    var eventResponse = EventMapper.toEventResponse(snapshot);
+    assertEquals(1L, eventResponse.getId());
+    assertEquals("Sample Event", eventResponse.getName());
+    assertEquals(12.5, eventResponse.getAirTemperature());
+    assertEquals(event.getStartDateTime(), eventResponse.getStartDateTime());
+    assertEquals(event.getForecastExpiresAt(), snapshot.forecastExpiresAt());
+    assertEquals(4L, eventResponse.getVersion());
+    assertEquals(event.getForecastExpiresAt(), eventResponse.getForecastExpiresAt());
+  }
+
+  @Test
+  public void testMapToForecast() {
+    var event =
         Event.builder()
-            .id(2L)
-            .name("Sample Event 2")
-            .description("Sample Event Description 2")
-            .latitude(59.92)
-            .longitude(10.76)
-            .startDateTime(Instant.parse("2025-05-11T10:00:00Z"))
-            .endDateTime(Instant.parse("2025-05-11T12:00:00Z"))
+            .latitude(59.91)
+            .longitude(10.75)
+            .startDateTime(Instant.parse("2025-05-10T10:40:00Z"))
             .build();
-    var events = List.of(event1, event2);
-    var eventResponses = EventMapper.toEventResponseList(events);
-    assertEquals(events.size(), eventResponses.size());
-    assertEquals(event1.getName(), eventResponses.get(0).getName());
-    assertEquals(event2.getName(), eventResponses.get(1).getName());
+    var forecastData =
+        new ForecastData(
+            15.0,
+            5.0,
+            Instant.parse("2025-05-10T09:00:00Z"),
+            Instant.parse("2025-05-10T08:00:00Z"));
+
+    var forecast = EventMapper.toForecast(event.forecastKey(), forecastData);
+
+    // the key is the event's cell and the hour closest to its start
+    assertEquals(
+        new ForecastKey(599100, 107500, Instant.parse("2025-05-10T11:00:00Z")), forecast.getId());
+    assertEquals(15.0, forecast.getAirTemperature());
+    assertEquals(5.0, forecast.getWindSpeed());
+    assertEquals(forecastData.getForecastExpiresAt(), forecast.getExpiresAt());
+    assertEquals(forecastData.getForecastLastModifiedAt(), forecast.getLastModifiedAt());
   }
 }
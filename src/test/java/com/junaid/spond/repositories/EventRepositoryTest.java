@@ -0,0 +1,283 @@
+package com.junaid.spond.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.junaid.spond.dtos.EventCursor;
+import com.junaid.spond.dtos.EventFilter;
+import com.junaid.spond.dtos.EventSummary;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.models.Forecast;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EventRepositoryTest {
+  private static final Instant START = Instant.parse("2025-05-10T10:00:00Z");
+
+  @Autowired private EventRepository eventRepository;
+  @Autowired private ForecastRepository forecastRepository;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  void testKeysetPagination() {
+    var event1 = eventRepository.save(event("Event 1", START.plusSeconds(60), null, null));
+    var event2 = eventRepository.save(event("Event 2", START, null, null));
+    var event3 = eventRepository.save(event("Event 3", START, null, null));
+    var event4 = eventRepository.save(event("Event 4", START.plusSeconds(120), null, null));
+    var all = EventSpecifications.matching(new EventFilter());
+
+    var firstPage = page(all, 2);
+    assertEquals(List.of(event2.getId(), event3.getId()), ids(firstPage));
+
+    var last = firstPage.get(1);
+    var secondPage =
+        page(all.and(EventSpecifications.after(new EventCursor(START, last.getId()))), 2);
+    assertEquals(List.of(event1.getId(), event4.getId()), ids(secondPage));
+
+    var lastPage =
+        page(
+            all.and(
+                EventSpecifications.after(
+                    new EventCursor(event4.getStartDateTime(), event4.getId()))),
+            2);
+    assertEquals(List.of(), ids(lastPage));
+  }
+
+  @Test
+  void testTimeRange() {
+    eventRepository.save(event("Before", START.minusSeconds(1), null, null));
+    var from = eventRepository.save(event("From", START, null, null));
+    var inside = eventRepository.save(event("Inside", START.plusSeconds(3600), null, null));
+    eventRepository.save(event("To", START.plusSeconds(7200), null, null));
+
+    var filter = EventFilter.builder().from(START).to(START.plusSeconds(7200)).build();
+
+    assertEquals(
+        List.of(from.getId(), inside.getId()), ids(page(EventSpecifications.matching(filter), 10)));
+  }
+
+  @Test
+  void testBoundingBox() {
+    var oslo = eventRepository.save(event("Oslo", START, 59.91, 10.75));
+    eventRepository.save(event("Stavanger", START, 58.97, 5.73));
+    eventRepository.save(event("No location", START, null, null));
+
+    var filter = EventFilter.builder().minLat(59.0).maxLat(61.0).minLon(9.0).maxLon(12.0).build();
+
+    assertEquals(List.of(oslo.getId()), ids(page(EventSpecifications.matching(filter), 10)));
+  }
+
+  @Test
+  void testRadius() {
+    var oslo = eventRepository.save(event("Oslo", START, 59.91, 10.75));
+    // about 17 km north-east of Oslo
+    var lillestrom = eventRepository.save(event("Lillestrom", START, 59.955, 11.05));
+    // inside the enclosing box but about 45 km away along its diagonal
+    eventRepository.save(event("Corner", START, 60.2, 11.3));
+    eventRepository.save(event("Stavanger", START, 58.97, 5.73));
+
+    var filter = EventFilter.builder().lat(59.91).lon(10.75).radiusKm(40.0).build();
+
+    assertEquals(
+        List.of(oslo.getId(), lillestrom.getId()),
+        ids(page(EventSpecifications.matching(filter), 10)));
+  }
+
+  @Test
+  void testFindWithValidForecasts() {
+    var now = START;
+    var soon = event("Soon", now.plusSeconds(3600), 59.91, 10.75);
+    var later = event("Later", now.plusSeconds(7200), 59.91, 10.75);
+    var expired = event("Expired", now.plusSeconds(3600), 58.97, 5.73);
+    var past = event("Past", now.minusSeconds(3600), 59.91, 10.75);
+    eventRepository.saveAll(List.of(later, soon, expired, past));
+    eventRepository.save(event("No forecast", now.plusSeconds(3600), 60.39, 5.32));
+    forecastRepository.saveAll(
+        List.of(
+            forecast(soon, now.plusSeconds(600)),
+            forecast(later, now.plusSeconds(600)),
+            forecast(expired, now.minusSeconds(1)),
+            forecast(past, now.plusSeconds(600))));
+
+    var events =
+        eventRepository.findWithValidForecasts(
+            now, now, now.plus(Duration.ofDays(7)), Limit.of(10));
+    var limited =
+        eventRepository.findWithValidForecasts(now, now, now.plus(Duration.ofDays(7)), Limit.of(1));
+
+    assertEquals(List.of(soon.getId(), later.getId()), ids(events));
+    assertEquals(now.plusSeconds(600), events.get(0).getForecastExpiresAt());
+    assertEquals(List.of(soon.getId()), ids(limited));
+  }
+
+  @Test
+  void testFindIdsWithExpiredForecasts() {
+    var now = START;
+    var upToDate = event("Up to date", now.plusSeconds(3600), 59.91, 10.75);
+    var expired = event("Expired", now.plusSeconds(3600), 58.97, 5.73);
+    var noForecast = event("No forecast", now.plusSeconds(7200), 60.39, 5.32);
+    eventRepository.saveAll(List.of(upToDate, expired, noForecast));
+    eventRepository.save(event("No location", now.plusSeconds(3600), null, null));
+    forecastRepository.saveAll(
+        List.of(forecast(upToDate, now.plusSeconds(600)), forecast(expired, now.minusSeconds(1))));
+
+    var ids = eventRepository.findIdsWithExpiredForecasts(now, now, now.plus(Duration.ofDays(7)));
+
+    assertEquals(List.of(expired.getId(), noForecast.getId()), ids);
+  }
+
+  @Test
+  void testFindWithForecastById_SharesTheRowOfTheCellAndHour() {
+    // both start closest to 11:00 in the same cell
+    var event = event("Event", START.plusSeconds(3000), 59.91, 10.75);
+    var neighbour = event("Neighbour", START.plusSeconds(4200), 59.91001, 10.75);
+    var nextHour = event("Next hour", START.plusSeconds(7200), 59.91, 10.75);
+    eventRepository.saveAll(List.of(event, neighbour, nextHour));
+    forecastRepository.save(forecast(event, START.plusSeconds(600)));
+    entityManager.flush();
+    entityManager.clear();
+
+    var loaded = eventRepository.findWithForecastById(event.getId()).orElseThrow();
+    var loadedNeighbour = eventRepository.findWithForecastById(neighbour.getId()).orElseThrow();
+    var loadedNextHour = eventRepository.findWithForecastById(nextHour.getId()).orElseThrow();
+
+    assertEquals("Event", loaded.getName());
+    assertEquals(12.5, loaded.getAirTemperature());
+    assertEquals(START.plusSeconds(600), loaded.getForecastExpiresAt());
+    assertEquals(12.5, loadedNeighbour.getAirTemperature());
+    assertNull(loadedNextHour.getAirTemperature());
+    assertNull(loadedNextHour.getForecastExpiresAt());
+  }
+
+  @Test
+  void testFindSummaries() {
+    var oslo = event("Oslo", START.plusSeconds(60), 59.91, 10.75);
+    var stavanger = event("Stavanger", START, 58.97, 5.73);
+    var bergen = event("Bergen", START.plusSeconds(120), 60.39, 5.32);
+    var noLocation = event("No location", START.plusSeconds(180), null, null);
+    eventRepository.saveAll(List.of(oslo, stavanger, bergen, noLocation));
+    forecastRepository.save(forecast(oslo, START.plusSeconds(600)));
+    entityManager.flush();
+    entityManager.clear();
+    var all = EventSpecifications.matching(new EventFilter());
+
+    var firstPage =
+        eventRepository.findSummaries(all, PageRequest.of(0, 2, EventSpecifications.KEYSET_ORDER));
+    var secondPage =
+        eventRepository.findSummaries(all, PageRequest.of(1, 2, EventSpecifications.KEYSET_ORDER));
+
+    assertEquals(List.of("Stavanger", "Oslo"), firstPage.stream().map(EventSummary::name).toList());
+    assertEquals(
+        List.of("Bergen", "No location"), secondPage.stream().map(EventSummary::name).toList());
+    var summary = firstPage.get(1);
+    assertEquals(oslo.getId(), summary.id());
+    assertEquals(59.91, summary.latitude());
+    assertEquals(START.plusSeconds(60), summary.startDateTime());
+    assertEquals(12.5, summary.airTemperature());
+    assertEquals(3.0, summary.windSpeed());
+    assertEquals(START, summary.forecastLastModifiedAt());
+    assertEquals(oslo.getVersion(), summary.version());
+    assertNull(firstPage.get(0).airTemperature());
+    // nothing was loaded into the persistence context
+    assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+  }
+
+  @Test
+  void testFindSummaries_Filtered() {
+    var oslo = eventRepository.save(event("Oslo", START, 59.91, 10.75));
+    eventRepository.save(event("Stavanger", START, 58.97, 5.73));
+    var filter = EventFilter.builder().minLat(59.0).maxLat(61.0).minLon(9.0).maxLon(12.0).build();
+
+    var summaries =
+        eventRepository.findSummaries(
+            EventSpecifications.matching(filter),
+            PageRequest.of(0, 10, EventSpecifications.KEYSET_ORDER));
+
+    assertEquals(List.of(oslo.getId()), summaries.stream().map(EventSummary::id).toList());
+  }
+
+  @Test
+  void testStreamSummaries() {
+    var later = event("Later", START.plusSeconds(7200), 59.91, 10.75);
+    var first = event("First", START, 58.97, 5.73);
+    eventRepository.saveAll(List.of(later, first));
+    eventRepository.save(event("Before", START.minusSeconds(1), 60.39, 5.32));
+    forecastRepository.save(forecast(later, START.plusSeconds(600)));
+    entityManager.flush();
+    entityManager.clear();
+    var filter = EventFilter.builder().from(START).build();
+
+    List<EventSummary> summaries;
+    try (var stream =
+        eventRepository.streamSummaries(
+            EventSpecifications.matching(filter), EventSpecifications.KEYSET_ORDER, 1)) {
+      summaries = stream.toList();
+    }
+
+    assertEquals(
+        List.of(first.getId(), later.getId()), summaries.stream().map(EventSummary::id).toList());
+    assertNull(summaries.get(0).airTemperature());
+    assertEquals(12.5, summaries.get(1).airTemperature());
+    assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+  }
+
+  @Test
+  void testInsertsAreBatched() {
+    var statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    var events = new ArrayList<Event>();
+    for (var i = 0; i < 120; i++) {
+      events.add(event("Event " + i, START.plusSeconds(i), 59.91, 10.75));
+    }
+
+    eventRepository.saveAll(events);
+    entityManager.flush();
+
+    assertEquals(120, statistics.getEntityInsertCount());
+    // three sequence calls and three insert batches, not one statement per event
+    assertTrue(statistics.getPrepareStatementCount() <= 6, () -> statistics.toString());
+  }
+
+  private List<Event> page(Specification<Event> specification, int size) {
+    return eventRepository.findBy(
+        specification, query -> query.sortBy(EventSpecifications.KEYSET_ORDER).limit(size).all());
+  }
+
+  private static Forecast forecast(Event event, Instant expiresAt) {
+    return Forecast.builder()
+        .id(event.forecastKey())
+        .airTemperature(12.5)
+        .windSpeed(3.0)
+        .expiresAt(expiresAt)
+        .lastModifiedAt(START)
+        .build();
+  }
+
+  private static Event event(String name, Instant start, Double latitude, Double longitude) {
+    return Event.builder()
+        .name(name)
+        .startDateTime(start)
+        .endDateTime(start)
+        .latitude(latitude)
+        .longitude(longitude)
+        .build();
+  }
+
+  private static List<Long> ids(List<Event> events) {
+    return events.stream().map(Event::getId).toList();
+  }
+}
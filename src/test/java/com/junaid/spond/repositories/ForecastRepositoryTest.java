@@ -0,0 +1,66 @@
+package com.junaid.spond.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.junaid.spond.models.Forecast;
+import com.junaid.spond.models.ForecastKey;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+class ForecastRepositoryTest {
+  private static final Instant START = Instant.parse("2025-05-10T10:00:00Z");
+
+  @Autowired private ForecastRepository forecastRepository;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  void testUpsertAll() {
+    var existing = ForecastKey.of(59.91, 10.75, START);
+    var upToDate = ForecastKey.of(58.97, 5.73, START);
+    var added = ForecastKey.of(60.39, 5.32, START);
+    forecastRepository.saveAll(
+        List.of(
+            forecast(existing, 8.0, START.minusSeconds(60)),
+            forecast(upToDate, 8.0, START.plusSeconds(7200))));
+    entityManager.flush();
+
+    forecastRepository.upsertAll(
+        List.of(
+            forecast(existing, 12.5, START.plusSeconds(3600)),
+            forecast(upToDate, 12.5, START.plusSeconds(3600)),
+            forecast(added, 12.5, START.plusSeconds(3600))));
+    entityManager.clear();
+
+    var updated = forecastRepository.findById(existing).orElseThrow();
+    assertEquals(12.5, updated.getAirTemperature());
+    assertEquals(START.plusSeconds(3600), updated.getExpiresAt());
+    assertEquals(START, updated.getLastModifiedAt());
+    // a newer forecast is not replaced by an older one
+    var notUpdated = forecastRepository.findById(upToDate).orElseThrow();
+    assertEquals(8.0, notUpdated.getAirTemperature());
+    assertEquals(START.plusSeconds(7200), notUpdated.getExpiresAt());
+    assertEquals(12.5, forecastRepository.findById(added).orElseThrow().getAirTemperature());
+  }
+
+  @Test
+  void testUpsertAll_Empty() {
+    forecastRepository.upsertAll(List.of());
+
+    assertEquals(0, forecastRepository.count());
+  }
+
+  private static Forecast forecast(ForecastKey key, double airTemperature, Instant expiresAt) {
+    return Forecast.builder()
+        .id(key)
+        .airTemperature(airTemperature)
+        .windSpeed(3.0)
+        .expiresAt(expiresAt)
+        .lastModifiedAt(START)
+        .build();
+  }
+}
@@ -0,0 +1,155 @@
+package com.junaid.spond.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junaid.spond.configs.AppConfig;
+import com.junaid.spond.dtos.EventSummary;
+import com.junaid.spond.dtos.ExportFormat;
+import com.junaid.spond.exceptions.BadRequestException;
+import com.junaid.spond.repositories.EventRepository;
+import com.junaid.spond.repositories.EventSpecifications;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class EventExportServiceTest {
+  private static final Instant START = Instant.parse("2025-05-10T10:00:00Z");
+
+  @Mock private EventRepository eventRepository;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @Spy
+  private ObjectMapper objectMapper =
+      new AppConfig().objectMapper(new Jackson2ObjectMapperBuilder());
+
+  @InjectMocks private EventExportService eventExportService;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    ReflectionTestUtils.setField(eventExportService, "fetchSize", 100);
+  }
+
+  @Test
+  void testExportEvents_Ndjson() throws Exception {
+    // Arrange
+    var closed = new boolean[1];
+    when(eventRepository.streamSummaries(any(), eq(EventSpecifications.KEYSET_ORDER), eq(100)))
+        .thenReturn(
+            Stream.of(event(1L, "Event 1", 12.5), event(2L, "Event 2", null))
+                .onClose(() -> closed[0] = true));
+
+    // Act
+    var body = write(eventExportService.exportEvents(null, null, ExportFormat.NDJSON));
+
+    // Assert
+    var lines = body.split("\n", -1);
+    assertEquals(3, lines.length);
+    assertEquals("", lines[2]);
+    var first = objectMapper.readTree(lines[0]);
+    assertEquals(1L, first.get("id").asLong());
+    assertEquals("Event 1", first.get("name").asText());
+    assertEquals("2025-05-10T10:00:00Z", first.get("startDateTime").asText());
+    assertEquals(12.5, first.get("airTemperature").asDouble());
+    assertTrue(first.get("version") == null);
+    assertTrue(objectMapper.readTree(lines[1]).get("airTemperature").isNull());
+    assertTrue(closed[0]);
+  }
+
+  @Test
+  void testExportEvents_Csv() throws Exception {
+    // Arrange
+    var quoted =
+        new EventSummary(
+            2L,
+            "Quiz, \"finals\"",
+            "first line\nsecond line",
+            59.91,
+            10.75,
+            START,
+            START,
+            null,
+            null,
+            0L,
+            null);
+    when(eventRepository.streamSummaries(any(), any(), eq(100)))
+        .thenReturn(Stream.of(event(1L, "Event 1", 12.5), quoted));
+
+    // Act
+    var body = write(eventExportService.exportEvents(null, null, ExportFormat.CSV));
+
+    // Assert
+    assertEquals(
+        "id,name,description,latitude,longitude,startDateTime,endDateTime,airTemperature,windSpeed\r\n"
+            + "1,Event 1,,58.97,5.73,2025-05-10T10:00:00Z,2025-05-10T12:00:00Z,12.5,4.5\r\n"
+            + "2,\"Quiz, \"\"finals\"\"\",\"first line\nsecond line\",59.91,10.75,"
+            + "2025-05-10T10:00:00Z,2025-05-10T10:00:00Z,,\r\n",
+        body);
+  }
+
+  @Test
+  void testExportEvents_ReadsInReadOnlyTransaction() throws Exception {
+    // Arrange
+    when(eventRepository.streamSummaries(any(), any(), eq(100))).thenReturn(Stream.of());
+    var body = eventExportService.exportEvents(START, START.plusSeconds(3600), ExportFormat.NDJSON);
+
+    // Assert
+    // nothing is read until the body is written
+    verify(eventRepository, never()).streamSummaries(any(), any(), eq(100));
+    assertEquals("", write(body));
+    var definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+    verify(transactionManager, times(1)).getTransaction(definition.capture());
+    assertTrue(definition.getValue().isReadOnly());
+    verify(transactionManager, times(1)).commit(any());
+  }
+
+  @Test
+  void testExportEvents_InvalidRange() {
+    assertThrows(
+        BadRequestException.class,
+        () -> eventExportService.exportEvents(START, START, ExportFormat.CSV));
+  }
+
+  private static EventSummary event(Long id, String name, Double airTemperature) {
+    return new EventSummary(
+        id,
+        name,
+        null,
+        58.97,
+        5.73,
+        START,
+        START.plusSeconds(7200),
+        airTemperature,
+        airTemperature == null ? null : 4.5,
+        0L,
+        null);
+  }
+
+  private static String write(StreamingResponseBody body) throws Exception {
+    var out = new ByteArrayOutputStream();
+    body.writeTo(out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+}
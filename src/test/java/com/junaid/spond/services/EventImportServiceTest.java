@@ -0,0 +1,168 @@
+package com.junaid.spond.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junaid.spond.exceptions.BadRequestException;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.repositories.EventRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class EventImportServiceTest {
+
+  @Mock private EventRepository eventRepository;
+  @Spy private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  @Spy private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+  @InjectMocks private EventImportService eventImportService;
+
+  private final AtomicLong ids = new AtomicLong();
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    ReflectionTestUtils.setField(eventImportService, "chunkSize", 2);
+    when(eventRepository.saveAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Event> events = invocation.getArgument(0);
+              var saved = new ArrayList<Event>();
+              for (var event : events) {
+                event.setId(ids.incrementAndGet());
+                saved.add(event);
+              }
+              return saved;
+            });
+  }
+
+  @Test
+  void testImportEvents_JsonArray() throws Exception {
+    // Arrange
+    var body = "[" + event("Event 1") + "," + event("Event 2") + "," + event("Event 3") + "]";
+
+    // Act
+    var response = eventImportService.importEvents(stream(body));
+
+    // Assert
+    assertEquals(3, response.getCreated());
+    assertEquals(0, response.getFailed());
+    assertEquals(List.of(1L, 2L, 3L), response.getItems().stream().map(i -> i.getId()).toList());
+    // chunks of two
+    verify(eventRepository, times(2)).saveAll(anyList());
+  }
+
+  @Test
+  void testImportEvents_Ndjson() throws Exception {
+    // Arrange
+    var body = event("Event 1") + "\n" + event("Event 2") + "\n";
+
+    // Act
+    var response = eventImportService.importEvents(stream(body));
+
+    // Assert
+    assertEquals(2, response.getCreated());
+    assertEquals(1, response.getItems().get(1).getIndex());
+    assertEquals(2L, response.getItems().get(1).getId());
+  }
+
+  @Test
+  void testImportEvents_ReportsInvalidItems() throws Exception {
+    // Arrange
+    var body =
+        event("Event 1")
+            + "\n"
+            + "{\"name\": \"\", \"startDateTime\": \"2025-05-10T10:00:00Z\"}\n"
+            + "{\"name\": \"Bad date\", \"startDateTime\": \"tomorrow\","
+            + " \"endDateTime\": \"2025-05-10T12:00:00Z\"}\n"
+            + event("Event 4")
+            + "\n";
+
+    // Act
+    var response = eventImportService.importEvents(stream(body));
+
+    // Assert
+    assertEquals(2, response.getCreated());
+    assertEquals(2, response.getFailed());
+    var items = response.getItems();
+    assertEquals(1L, items.get(0).getId());
+
+    assertNull(items.get(1).getId());
+    assertEquals("NotBlank", items.get(1).getErrors().get("name").get(0).getCode());
+    assertEquals("NotNull", items.get(1).getErrors().get("endDateTime").get(0).getCode());
+
+    assertNull(items.get(2).getId());
+    assertEquals("InvalidFormat", items.get(2).getErrors().get("startDateTime").get(0).getCode());
+
+    // items after a binding error are still read
+    assertEquals(2L, items.get(3).getId());
+  }
+
+  @Test
+  void testImportEvents_RejectsOutOfRangeCoordinates() throws Exception {
+    // Arrange
+    var body =
+        "{\"name\": \"Far away\", \"latitude\": 250000.0, \"longitude\": -181.0,"
+            + " \"startDateTime\": \"2025-05-10T10:00:00Z\","
+            + " \"endDateTime\": \"2025-05-10T12:00:00Z\"}\n";
+
+    // Act
+    var response = eventImportService.importEvents(stream(body));
+
+    // Assert
+    assertEquals(0, response.getCreated());
+    var errors = response.getItems().get(0).getErrors();
+    assertEquals("DecimalMax", errors.get("latitude").get(0).getCode());
+    assertEquals("DecimalMin", errors.get("longitude").get(0).getCode());
+  }
+
+  @Test
+  void testImportEvents_StopsAtMalformedJson() throws Exception {
+    // Arrange
+    var body = event("Event 1") + "\n{\"name\": \"Event 2\", \n" + event("Event 3");
+
+    // Act
+    var response = eventImportService.importEvents(stream(body));
+
+    // Assert
+    assertEquals(1, response.getCreated());
+    assertEquals(1, response.getFailed());
+    assertEquals(2, response.getItems().size());
+    assertTrue(response.getItems().get(1).getErrors().containsKey("item"));
+  }
+
+  @Test
+  void testImportEvents_Empty() {
+    assertThrows(BadRequestException.class, () -> eventImportService.importEvents(stream("[]")));
+  }
+
+  private static ByteArrayInputStream stream(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String event(String name) {
+    return "{\"name\": \""
+        + name
+        + "\", \"latitude\": 59.91, \"longitude\": 10.75,"
+        + " \"startDateTime\": \"2025-05-10T10:00:00Z\", \"endDateTime\": \"2025-05-10T12:00:00Z\"}";
+  }
+}
@@ -2,44 +2,79 @@ package com.junaid.spond.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.benmanes.caffeine.cache.Cache;
+import com.junaid.spond.configs.CacheProperties;
+import com.junaid.spond.configs.ForecastProperties;
+import com.junaid.spond.dtos.EventCursor;
+import com.junaid.spond.dtos.EventFilter;
+import com.junaid.spond.dtos.EventLookupResponse;
 import com.junaid.spond.dtos.EventResponse;
+import com.junaid.spond.dtos.EventSummary;
 import com.junaid.spond.dtos.NewEventRequest;
 import com.junaid.spond.dtos.PageableResponse;
+import com.junaid.spond.exceptions.BadRequestException;
+import com.junaid.spond.exceptions.ForecastUnavailableException;
 import com.junaid.spond.exceptions.ResourceNotFoundException;
 import com.junaid.spond.mappers.EventMapper;
 import com.junaid.spond.models.Event;
+import com.junaid.spond.models.EventSnapshot;
 import com.junaid.spond.models.ForecastData;
+import com.junaid.spond.models.SerializedEvent;
 import com.junaid.spond.repositories.EventRepository;
+import com.junaid.spond.repositories.EventSpecifications;
+import com.junaid.spond.utils.ForecastExpiry;
+import com.junaid.spond.utils.InProcessSharedCache;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.mockito.Spy;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 class EventServiceTest {
 
   @Mock private EventRepository eventRepository;
-  @Mock private Cache<String, Event> forecastCache;
+  @Mock private Cache<Long, EventSnapshot> forecastCache;
   @Mock private ForecastService forecastService;
+  @Mock private ForecastWriteBehind forecastWriteBehind;
+  @Mock private Executor forecastRefreshExecutor;
+  @Spy private ForecastProperties forecastProperties = new ForecastProperties();
+  @Spy private CacheProperties cacheProperties = new CacheProperties();
+  @Spy private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
   @InjectMocks private EventService eventService;
 
@@ -86,6 +121,8 @@ class EventServiceTest {
             .windSpeed(3.0)
             .build();
     MockitoAnnotations.openMocks(this);
+    ReflectionTestUtils.setField(eventService, "maxLookupIds", 3);
+    ReflectionTestUtils.setField(eventService, "maxPageSize", 100);
   }
 
   @Test
@@ -130,9 +167,10 @@ class EventServiceTest {
   void testGetEventById_EventExistsInCache() {
     // Arrange
     Long eventId = 1L;
-    Event cachedEvent =
-        Event.builder().id(eventId).forecastExpiresAt(Instant.now().plusSeconds(100)).build();
-    when(forecastCache.getIfPresent(eventId.toString())).thenReturn(cachedEvent);
+    EventSnapshot cachedEvent =
+        EventMapper.toSnapshot(
+            Event.builder().id(eventId).forecastExpiresAt(Instant.now().plusSeconds(100)).build());
+    when(forecastCache.getIfPresent(eventId)).thenReturn(cachedEvent);
     try (MockedStatic<EventMapper> mockedMapper = mockStatic(EventMapper.class)) {
       mockedMapper.when(() -> EventMapper.toEventResponse(cachedEvent)).thenReturn(eventResponse);
 
@@ -141,8 +179,8 @@ class EventServiceTest {
 
       // Assert
       assertNotNull(response);
-      verify(forecastCache, times(1)).getIfPresent(eventId.toString());
-      verify(eventRepository, never()).findById(eventId);
+      verify(forecastCache, times(1)).getIfPresent(eventId);
+      verify(eventRepository, never()).findWithForecastById(eventId);
     }
   }
 
@@ -151,8 +189,8 @@ class EventServiceTest {
     // Arrange
     Long eventId = 1L;
 
-    when(forecastCache.getIfPresent(eventId.toString())).thenReturn(null);
-    when(eventRepository.findById(eventId)).thenReturn(Optional.of(unExpiredEvent));
+    when(forecastCache.getIfPresent(eventId)).thenReturn(null);
+    when(eventRepository.findWithForecastById(eventId)).thenReturn(Optional.of(unExpiredEvent));
     try (MockedStatic<EventMapper> mockedMapper = mockStatic(EventMapper.class)) {
       mockedMapper
           .when(() -> EventMapper.toEventResponse(unExpiredEvent))
@@ -163,8 +201,8 @@ class EventServiceTest {
 
       // Assert
       assertNotNull(response);
-      verify(forecastCache, times(1)).getIfPresent(eventId.toString());
-      verify(eventRepository, times(1)).findById(eventId);
+      verify(forecastCache, times(1)).getIfPresent(eventId);
+      verify(eventRepository, times(1)).findWithForecastById(eventId);
     }
   }
 
@@ -172,16 +210,50 @@ class EventServiceTest {
   void testGetEventById_EventNotFound() {
     // Arrange
     Long eventId = 1L;
-    when(forecastCache.getIfPresent(eventId.toString())).thenReturn(null);
-    when(eventRepository.findById(eventId)).thenReturn(Optional.empty());
+    when(forecastCache.getIfPresent(eventId)).thenReturn(null);
+    when(eventRepository.findWithForecastById(eventId)).thenReturn(Optional.empty());
 
     // Act & Assert
     ResourceNotFoundException exception =
         assertThrows(ResourceNotFoundException.class, () -> eventService.getEventById(eventId));
     assertNotNull(exception);
     assertEquals("Event not found", exception.getMessage());
-    verify(forecastCache, times(1)).getIfPresent(eventId.toString());
-    verify(eventRepository, times(1)).findById(eventId);
+    verify(forecastCache, times(1)).getIfPresent(eventId);
+    verify(eventRepository, times(1)).findWithForecastById(eventId);
+  }
+
+  @Test
+  void testGetEventById_SharedCacheHit() {
+    // Arrange
+    Long eventId = 1L;
+    var sharedCache = sharedEventCache();
+    var snapshot = EventMapper.toSnapshot(unExpiredEvent);
+    sharedCache.join().put(eventId, snapshot);
+    when(forecastCache.getIfPresent(eventId)).thenReturn(null);
+
+    // Act
+    EventResponse response = eventService.getEventById(eventId);
+
+    // Assert
+    assertEquals("Sample Event", response.getName());
+    verify(forecastCache, times(1)).put(eventId, snapshot);
+    verifyNoInteractions(eventRepository);
+  }
+
+  @Test
+  void testGetEventById_LoadedEventIsShared() {
+    // Arrange
+    Long eventId = 1L;
+    var sharedCache = sharedEventCache();
+    when(forecastCache.getIfPresent(eventId)).thenReturn(null);
+    when(eventRepository.findWithForecastById(eventId)).thenReturn(Optional.of(unExpiredEvent));
+
+    // Act
+    eventService.getEventById(eventId);
+
+    // Assert
+    assertEquals(EventMapper.toSnapshot(unExpiredEvent), sharedCache.join().get(eventId));
+    verify(forecastCache, times(1)).put(eventId, EventMapper.toSnapshot(unExpiredEvent));
   }
 
   @Test
@@ -191,9 +263,8 @@ class EventServiceTest {
     ForecastData forecastData =
         new ForecastData(32.0, 3.0, Instant.now().plus(Duration.ofHours(6)), Instant.now());
 
-    when(forecastCache.getIfPresent(eventId.toString())).thenReturn(null);
-    when(eventRepository.findById(eventId)).thenReturn(Optional.of(expiredEvent));
-    when(eventRepository.save(any())).thenReturn(unExpiredEvent);
+    when(forecastCache.getIfPresent(eventId)).thenReturn(null);
+    when(eventRepository.findWithForecastById(eventId)).thenReturn(Optional.of(expiredEvent));
     when(forecastService.getForecastData(expiredEvent)).thenReturn(forecastData);
 
     // Act
@@ -201,69 +272,493 @@ class EventServiceTest {
 
     // Assert
     assertNotNull(response);
+    assertEquals(32.0, response.getAirTemperature());
     verify(forecastService, times(1)).getForecastData(expiredEvent);
-    verify(eventRepository, times(1)).save(expiredEvent);
-    verify(forecastCache, times(1)).put(eventId.toString(), unExpiredEvent);
+    verify(forecastWriteBehind, times(1)).enqueue(expiredEvent, forecastData);
+    verify(eventRepository, never()).save(any());
+    verify(forecastCache, times(1)).put(eventId, EventMapper.toSnapshot(expiredEvent));
   }
 
   @Test
-  void testGetEvents_Success() {
+  void testGetEventById_AppliesForecastNotWrittenYet() {
     // Arrange
-    int page = 0;
-    int size = 2;
+    Long eventId = 1L;
+    when(forecastCache.getIfPresent(eventId)).thenReturn(null);
+    when(eventRepository.findWithForecastById(eventId)).thenReturn(Optional.of(expiredEvent));
+    doAnswer(
+            invocation -> {
+              invocation.<Event>getArgument(0).setForecastExpiresAt(Instant.now().plusSeconds(60));
+              return null;
+            })
+        .when(forecastWriteBehind)
+        .applyPending(expiredEvent);
+
+    // Act
+    eventService.getEventById(eventId);
+
+    // Assert
+    verify(forecastService, never()).getForecastData(any());
+    verify(forecastCache, times(1)).put(eventId, EventMapper.toSnapshot(expiredEvent));
+  }
+
+  @Test
+  void testGetEventById_ServesPersistedForecastWhenUpstreamUnavailable() {
+    // Arrange
+    Long eventId = 1L;
+    expiredEvent.setAirTemperature(12.5);
+    expiredEvent.setWindSpeed(4.0);
+
+    when(forecastCache.getIfPresent(eventId)).thenReturn(null);
+    when(eventRepository.findWithForecastById(eventId)).thenReturn(Optional.of(expiredEvent));
+    when(forecastService.getForecastData(expiredEvent))
+        .thenThrow(new ForecastUnavailableException("Weather Forecast circuit is open"));
+
+    // Act
+    EventResponse response = eventService.getEventById(eventId);
+
+    // Assert
+    assertEquals(12.5, response.getAirTemperature());
+    assertEquals(4.0, response.getWindSpeed());
+    verify(forecastWriteBehind, never()).enqueue(any(), any());
+    verify(forecastCache, never()).put(any(), any());
+  }
+
+  @Test
+  void testGetSerializedEvent_OffByDefault() {
+    assertNull(eventService.getSerializedEvent(1L));
+    verifyNoInteractions(forecastCache);
+  }
+
+  @Test
+  void testGetSerializedEvent_KeepsBodyWithCachedEvent() throws Exception {
+    // Arrange
+    Long eventId = 1L;
+    cacheProperties.setSerializedEvents(true);
+    var cachedEvent = EventMapper.toSnapshot(unExpiredEvent);
+    var entries = new ConcurrentHashMap<Long, EventSnapshot>();
+    entries.put(eventId, cachedEvent);
+    when(forecastCache.getIfPresent(eventId)).thenReturn(cachedEvent);
+    when(forecastCache.asMap()).thenReturn(entries);
+
+    // Act
+    SerializedEvent serialized = eventService.getSerializedEvent(eventId);
 
-    Event event1 = Event.builder().id(1L).name("Event 1").build();
-    Event event2 = Event.builder().id(2L).name("Event 2").build();
-    List<Event> events = Arrays.asList(event1, event2);
+    // Assert
+    var response = objectMapper.readTree(serialized.json());
+    assertEquals(eventId, response.path("id").asLong());
+    assertEquals("Sample Event", response.path("name").asText());
+    assertTrue(serialized.etag().startsWith("\""));
+    assertEquals(serialized, entries.get(eventId).serialized());
+
+    // the next hit returns the kept bytes without serializing again
+    when(forecastCache.getIfPresent(eventId)).thenReturn(entries.get(eventId));
+    assertEquals(serialized, eventService.getSerializedEvent(eventId));
+    verify(objectMapper, times(1)).writeValueAsBytes(any());
+  }
+
+  @Test
+  void testGetSerializedEvent_MissIsLoadedAndNotKept() {
+    // Arrange
+    Long eventId = 1L;
+    cacheProperties.setSerializedEvents(true);
+    when(forecastCache.getIfPresent(eventId)).thenReturn(null);
+    when(eventRepository.findWithForecastById(eventId)).thenReturn(Optional.of(unExpiredEvent));
+
+    // Act
+    SerializedEvent serialized = eventService.getSerializedEvent(eventId);
+
+    // Assert
+    assertNotNull(serialized);
+    verify(forecastCache, times(1)).put(eventId, EventMapper.toSnapshot(unExpiredEvent));
+    verify(forecastCache, never()).asMap();
+  }
+
+  @Test
+  void testGetSerializedEvent_StaleResponseIsMarked() {
+    // Arrange
+    Long eventId = 1L;
+    cacheProperties.setSerializedEvents(true);
+    forecastProperties.getStaleWhileRevalidate().setEnabled(true);
+    when(forecastCache.getIfPresent(eventId)).thenReturn(null);
+    when(eventRepository.findWithForecastById(eventId)).thenReturn(Optional.of(expiredEvent));
 
-    Page<Event> eventPage = new PageImpl<>(events, PageRequest.of(page, size), events.size());
-    when(eventRepository.findAll(PageRequest.of(page, size))).thenReturn(eventPage);
+    // Act
+    SerializedEvent serialized = eventService.getSerializedEvent(eventId);
+
+    // Assert
+    assertTrue(serialized.stale());
+    verify(forecastCache, never()).put(any(), any());
+  }
 
-    List<EventResponse> eventResponses =
-        Arrays.asList(
-            EventResponse.builder().id(1L).name("Event 1").build(),
-            EventResponse.builder().id(2L).name("Event 2").build());
+  @Test
+  void testGetEventById_ConcurrentMissesFetchForecastOnce() throws Exception {
+    // Arrange
+    Long eventId = 1L;
+    int readers = 16;
+    ForecastData forecastData =
+        new ForecastData(32.0, 3.0, Instant.now().plus(Duration.ofHours(6)), Instant.now());
 
-    try (var mockedMapper = mockStatic(EventMapper.class)) {
-      mockedMapper.when(() -> EventMapper.toEventResponseList(events)).thenReturn(eventResponses);
+    when(forecastCache.getIfPresent(eventId)).thenReturn(null);
+    when(eventRepository.findWithForecastById(eventId)).thenReturn(Optional.of(expiredEvent));
+    when(forecastService.getForecastData(expiredEvent))
+        .thenAnswer(
+            invocation -> {
+              // keep the upstream call in flight long enough for every reader to arrive
+              Thread.sleep(500);
+              return forecastData;
+            });
+
+    var start = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(readers);
+    try {
+      var responses = new ArrayList<Future<EventResponse>>();
+      for (int i = 0; i < readers; i++) {
+        responses.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return eventService.getEventById(eventId);
+                }));
+      }
 
       // Act
-      PageableResponse<EventResponse> pageableResponse = eventService.getEvents(page, size);
+      start.countDown();
 
       // Assert
-      assertNotNull(pageableResponse);
-      assertEquals(2, pageableResponse.getData().size());
-      assertEquals(0, pageableResponse.getCurrentPage());
-      assertEquals(1, pageableResponse.getTotalPages());
-      assertEquals(2, pageableResponse.getTotalItems());
-
-      verify(eventRepository, times(1)).findAll(PageRequest.of(page, size));
+      for (var response : responses) {
+        assertEquals(eventId, response.get().getId());
+      }
+      verify(forecastService, times(1)).getForecastData(expiredEvent);
+      verify(forecastWriteBehind, times(1)).enqueue(expiredEvent, forecastData);
+    } finally {
+      executor.shutdownNow();
     }
   }
 
+  @Test
+  void testGetEventById_ServesStaleForecastAndRevalidates() {
+    // Arrange
+    Long eventId = 1L;
+    forecastProperties.getStaleWhileRevalidate().setEnabled(true);
+    expiredEvent.setAirTemperature(12.0);
+    expiredEvent.setWindSpeed(2.0);
+    ForecastData forecastData =
+        new ForecastData(32.0, 3.0, Instant.now().plus(Duration.ofHours(6)), Instant.now());
+
+    when(forecastCache.getIfPresent(eventId)).thenReturn(null);
+    when(eventRepository.findWithForecastById(eventId)).thenReturn(Optional.of(expiredEvent));
+    when(forecastService.getForecastData(expiredEvent)).thenReturn(forecastData);
+
+    // Act
+    EventResponse response = eventService.getEventById(eventId);
+
+    // Assert
+    assertEquals(12.0, response.getAirTemperature());
+    assertEquals(2.0, response.getWindSpeed());
+    assertTrue(response.getForecastStale());
+    assertTrue(response.getForecastStaleSeconds() >= 100);
+    verify(forecastService, never()).getForecastData(any());
+
+    // the revalidation was handed to the executor, run it
+    var revalidation = ArgumentCaptor.forClass(Runnable.class);
+    verify(forecastRefreshExecutor, times(1)).execute(revalidation.capture());
+    revalidation.getValue().run();
+    verify(forecastService, times(1)).getForecastData(expiredEvent);
+    verify(forecastWriteBehind, times(1)).enqueue(expiredEvent, forecastData);
+    verify(forecastCache, times(1)).put(eventId, EventMapper.toSnapshot(expiredEvent));
+  }
+
+  @Test
+  void testGetEventById_TooStaleForecastIsFetchedSynchronously() {
+    // Arrange
+    Long eventId = 1L;
+    forecastProperties.getStaleWhileRevalidate().setEnabled(true);
+    forecastProperties.getStaleWhileRevalidate().setMaxStaleness(Duration.ofSeconds(10));
+    ForecastData forecastData =
+        new ForecastData(32.0, 3.0, Instant.now().plus(Duration.ofHours(6)), Instant.now());
+
+    when(forecastCache.getIfPresent(eventId)).thenReturn(null);
+    when(eventRepository.findWithForecastById(eventId)).thenReturn(Optional.of(expiredEvent));
+    when(forecastService.getForecastData(expiredEvent)).thenReturn(forecastData);
+
+    // Act
+    EventResponse response = eventService.getEventById(eventId);
+
+    // Assert
+    assertNull(response.getForecastStale());
+    verify(forecastService, times(1)).getForecastData(expiredEvent);
+    verify(forecastRefreshExecutor, never()).execute(any());
+  }
+
+  @Test
+  void testGetEvents_Success() {
+    // Arrange
+    int page = 0;
+    int size = 2;
+
+    List<EventSummary> events = List.of(summary(1L, "Event 1", null), summary(2L, "Event 2", null));
+    when(eventRepository.findSummaries(anySpecification(), eq(pageRequest(page, size))))
+        .thenReturn(events);
+    when(eventRepository.count(anySpecification())).thenReturn(3L);
+
+    // Act
+    PageableResponse<EventSummary> pageableResponse =
+        eventService.getEvents(new EventFilter(), page, size);
+
+    // Assert
+    assertNotNull(pageableResponse);
+    assertEquals(events, pageableResponse.getData());
+    assertEquals(0, pageableResponse.getCurrentPage());
+    assertEquals(2, pageableResponse.getTotalPages());
+    assertEquals(3, pageableResponse.getTotalItems());
+
+    verify(eventRepository, times(1))
+        .findSummaries(anySpecification(), eq(pageRequest(page, size)));
+    verify(eventRepository, never()).findAll(anySpecification(), any(Pageable.class));
+  }
+
+  @Test
+  void testGetEvents_LastPageSkipsCount() {
+    // Arrange
+    when(eventRepository.findSummaries(anySpecification(), eq(pageRequest(0, 10))))
+        .thenReturn(List.of(summary(1L, "Event 1", null)));
+
+    // Act
+    var pageableResponse = eventService.getEvents(new EventFilter(), 0, 10);
+
+    // Assert
+    assertEquals(1, pageableResponse.getTotalItems());
+    assertEquals(1, pageableResponse.getTotalPages());
+    verify(eventRepository, never()).count(anySpecification());
+  }
+
   @Test
   void testGetEvents_EmptyPage() {
     // Arrange
     int page = 0;
     int size = 2;
 
-    Page<Event> eventPage = new PageImpl<>(List.of(), PageRequest.of(page, size), 0);
-    when(eventRepository.findAll(PageRequest.of(page, size))).thenReturn(eventPage);
+    when(eventRepository.findSummaries(anySpecification(), eq(pageRequest(page, size))))
+        .thenReturn(List.of());
 
-    try (var mockedMapper = mockStatic(EventMapper.class)) {
-      mockedMapper.when(() -> EventMapper.toEventResponseList(List.of())).thenReturn(List.of());
+    // Act
+    PageableResponse<EventSummary> pageableResponse =
+        eventService.getEvents(new EventFilter(), page, size);
 
-      // Act
-      PageableResponse<EventResponse> pageableResponse = eventService.getEvents(page, size);
+    // Assert
+    assertNotNull(pageableResponse);
+    assertTrue(pageableResponse.getData().isEmpty());
+    assertEquals(0, pageableResponse.getCurrentPage());
+    assertEquals(0, pageableResponse.getTotalPages());
+    assertEquals(0, pageableResponse.getTotalItems());
+
+    verify(eventRepository, times(1))
+        .findSummaries(anySpecification(), eq(pageRequest(page, size)));
+  }
 
-      // Assert
-      assertNotNull(pageableResponse);
-      assertTrue(pageableResponse.getData().isEmpty());
-      assertEquals(0, pageableResponse.getCurrentPage());
-      assertEquals(0, pageableResponse.getTotalPages());
-      assertEquals(0, pageableResponse.getTotalItems());
+  @Test
+  void testGetEventsByCursor_FirstPage() {
+    // Arrange
+    var start = Instant.parse("2025-05-10T10:00:00Z");
+    when(eventRepository.findSummaries(anySpecification(), eq(pageRequest(0, 3))))
+        .thenReturn(
+            List.of(
+                summary(1L, "Event 1", start),
+                summary(2L, "Event 2", start),
+                summary(3L, "Event 3", start)));
+
+    // Act
+    var response = eventService.getEvents(new EventFilter(), "", 2);
+
+    // Assert
+    assertEquals(2, response.getData().size());
+    assertEquals(2L, response.getData().get(1).id());
+    assertEquals(new EventCursor(start, 2L), EventCursor.decode(response.getNextCursor()));
+    verify(eventRepository, never()).count(anySpecification());
+  }
+
+  @Test
+  void testGetEventsByCursor_LastPage() {
+    // Arrange
+    var start = Instant.parse("2025-05-10T10:00:00Z");
+    when(eventRepository.findSummaries(anySpecification(), any()))
+        .thenReturn(List.of(summary(3L, "Event 3", start)));
+
+    // Act
+    var response =
+        eventService.getEvents(new EventFilter(), new EventCursor(start, 2L).encode(), 2);
+
+    // Assert
+    assertEquals(1, response.getData().size());
+    assertNull(response.getNextCursor());
+  }
+
+  @Test
+  void testGetEventsByCursor_InvalidCursor() {
+    assertThrows(
+        BadRequestException.class,
+        () -> eventService.getEvents(new EventFilter(), "not a cursor", 2));
+  }
+
+  @Test
+  void testGetEvents_SizeOverLimit() {
+    var filter = new EventFilter();
+
+    // Act & Assert
+    assertThrows(BadRequestException.class, () -> eventService.getEvents(filter, 0, 101));
+    assertThrows(
+        BadRequestException.class, () -> eventService.getEvents(filter, "", Integer.MAX_VALUE));
+    assertThrows(BadRequestException.class, () -> eventService.getEvents(filter, -1, 10));
+    verifyNoInteractions(eventRepository);
+  }
 
-      verify(eventRepository, times(1)).findAll(PageRequest.of(page, size));
+  @Test
+  void testGetEvents_InvalidFilters() {
+    var invalidFilters =
+        List.of(
+            EventFilter.builder()
+                .from(Instant.parse("2025-05-11T00:00:00Z"))
+                .to(Instant.parse("2025-05-10T00:00:00Z"))
+                .build(),
+            EventFilter.builder().minLat(58.0).maxLat(60.0).minLon(5.0).build(),
+            EventFilter.builder().minLat(60.0).maxLat(58.0).minLon(5.0).maxLon(6.0).build(),
+            EventFilter.builder().minLat(58.0).maxLat(91.0).minLon(5.0).maxLon(6.0).build(),
+            EventFilter.builder().lat(59.0).lon(10.0).build(),
+            EventFilter.builder().lat(59.0).lon(10.0).radiusKm(-1.0).build(),
+            EventFilter.builder()
+                .minLat(58.0)
+                .maxLat(60.0)
+                .minLon(5.0)
+                .maxLon(6.0)
+                .lat(59.0)
+                .lon(5.5)
+                .radiusKm(10.0)
+                .build());
+
+    for (var filter : invalidFilters) {
+      assertThrows(BadRequestException.class, () -> eventService.getEvents(filter, 0, 10));
+      assertThrows(BadRequestException.class, () -> eventService.getEvents(filter, "", 10));
     }
+    verifyNoInteractions(eventRepository);
+  }
+
+  @Test
+  void testGetEventsByIds_CachedAndLoaded() {
+    // Arrange
+    var cachedEvent = event(3L, Instant.now().plusSeconds(100));
+    var loadedEvent = event(1L, Instant.now().plusSeconds(100));
+    when(forecastCache.getAllPresent(anyCollection()))
+        .thenReturn(Map.of(3L, EventMapper.toSnapshot(cachedEvent)));
+    when(eventRepository.findAllWithForecastById(List.of(1L, 2L))).thenReturn(List.of(loadedEvent));
+
+    // Act
+    EventLookupResponse response = eventService.getEventsByIds(List.of(3L, 1L, 2L, 3L));
+
+    // Assert
+    assertEquals(List.of(3L, 1L), response.getData().stream().map(EventResponse::getId).toList());
+    assertEquals(List.of(2L), response.getMissingIds());
+    verify(forecastCache, times(1)).getAllPresent(anyCollection());
+    verify(forecastCache, never()).getIfPresent(any());
+    verify(eventRepository, times(1)).findAllWithForecastById(List.of(1L, 2L));
+    verify(eventRepository, never()).findWithForecastById(any());
+    verify(forecastCache, times(1)).put(1L, EventMapper.toSnapshot(loadedEvent));
+  }
+
+  @Test
+  @Timeout(5)
+  void testGetEventsByIds_FetchesForecastsTogether() {
+    // Arrange
+    var first = event(1L, Instant.now().minusSeconds(100));
+    var second = event(2L, Instant.now().minusSeconds(100));
+    ForecastData forecastData =
+        new ForecastData(32.0, 3.0, Instant.now().plus(Duration.ofHours(6)), Instant.now());
+    var firstFetch = new CompletableFuture<ForecastData>();
+
+    when(forecastCache.getAllPresent(anyCollection())).thenReturn(Map.of());
+    when(eventRepository.findAllWithForecastById(List.of(1L, 2L)))
+        .thenReturn(List.of(first, second));
+    when(forecastService.getForecastDataAsync(first)).thenReturn(firstFetch);
+    // the first fetch only completes once the second has started, waiting on it first would hang
+    when(forecastService.getForecastDataAsync(second))
+        .thenAnswer(
+            invocation -> {
+              firstFetch.complete(forecastData);
+              return CompletableFuture.completedFuture(forecastData);
+            });
+
+    // Act
+    EventLookupResponse response = eventService.getEventsByIds(List.of(1L, 2L));
+
+    // Assert
+    assertEquals(2, response.getData().size());
+    assertEquals(32.0, response.getData().get(0).getAirTemperature());
+    assertEquals(32.0, response.getData().get(1).getAirTemperature());
+    verify(forecastService, never()).getForecastData(any());
+    verify(forecastWriteBehind, times(1)).enqueue(first, forecastData);
+    verify(forecastWriteBehind, times(1)).enqueue(second, forecastData);
+    verify(forecastCache, times(1)).put(1L, EventMapper.toSnapshot(first));
+    verify(forecastCache, times(1)).put(2L, EventMapper.toSnapshot(second));
+  }
+
+  @Test
+  void testGetEventsByIds_ServesPersistedForecastWhenUpstreamUnavailable() {
+    // Arrange
+    var event = event(1L, Instant.now().minusSeconds(100));
+    event.setAirTemperature(12.5);
+
+    when(forecastCache.getAllPresent(anyCollection())).thenReturn(Map.of());
+    when(eventRepository.findAllWithForecastById(List.of(1L))).thenReturn(List.of(event));
+    when(forecastService.getForecastDataAsync(event))
+        .thenReturn(
+            CompletableFuture.failedFuture(
+                new ForecastUnavailableException("Weather Forecast circuit is open")));
+
+    // Act
+    EventLookupResponse response = eventService.getEventsByIds(List.of(1L));
+
+    // Assert
+    assertEquals(12.5, response.getData().get(0).getAirTemperature());
+    verify(forecastWriteBehind, never()).enqueue(any(), any());
+    verify(forecastCache, never()).put(any(), any());
+  }
+
+  @Test
+  void testGetEventsByIds_InvalidIds() {
+    assertThrows(BadRequestException.class, () -> eventService.getEventsByIds(List.of()));
+    assertThrows(
+        BadRequestException.class, () -> eventService.getEventsByIds(List.of(1L, 2L, 3L, 4L)));
+    verifyNoInteractions(forecastCache, eventRepository);
+  }
+
+  private static Event event(Long id, Instant forecastExpiresAt) {
+    var start = Instant.now().plusSeconds(3600);
+    return Event.builder()
+        .id(id)
+        .name("Event " + id)
+        .latitude(59.91)
+        .longitude(10.75)
+        .startDateTime(start)
+        .endDateTime(start.plusSeconds(3600))
+        .forecastExpiresAt(forecastExpiresAt)
+        .build();
+  }
+
+  private static EventSummary summary(Long id, String name, Instant start) {
+    return new EventSummary(id, name, null, null, null, start, start, null, null, 0L, null);
+  }
+
+  private static Specification<Event> anySpecification() {
+    return any();
+  }
+
+  private static PageRequest pageRequest(int page, int size) {
+    return PageRequest.of(page, size, EventSpecifications.KEYSET_ORDER);
+  }
+
+  private InProcessSharedCache<Long, EventSnapshot> sharedEventCache() {
+    var sharedCache =
+        new InProcessSharedCache<Long, EventSnapshot>(new ForecastExpiry()::timeToLive);
+    ReflectionTestUtils.setField(eventService, "sharedEventCache", sharedCache);
+    return sharedCache;
   }
 }
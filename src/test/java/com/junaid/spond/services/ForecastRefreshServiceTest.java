@@ -0,0 +1,171 @@
+package com.junaid.spond.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.junaid.spond.configs.ForecastProperties;
+import com.junaid.spond.mappers.EventMapper;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.models.EventSnapshot;
+import com.junaid.spond.models.Forecast;
+import com.junaid.spond.models.ForecastData;
+import com.junaid.spond.repositories.EventRepository;
+import com.junaid.spond.repositories.ForecastRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+class ForecastRefreshServiceTest {
+
+  @Mock private EventRepository eventRepository;
+  @Mock private ForecastRepository forecastRepository;
+  @Mock private ForecastService forecastService;
+  @Mock private Cache<Long, EventSnapshot> forecastCache;
+  @Spy private ForecastProperties forecastProperties = new ForecastProperties();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @InjectMocks
+  private ForecastRefreshService forecastRefreshService = new ForecastRefreshService(meterRegistry);
+
+  @Captor private ArgumentCaptor<Collection<Forecast>> written;
+
+  private Event expiredEvent;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    expiredEvent =
+        Event.builder()
+            .id(1L)
+            .name("Sample Event")
+            .latitude(59.91)
+            .longitude(10.75)
+            .startDateTime(Instant.now().plus(Duration.ofDays(1)))
+            .forecastExpiresAt(Instant.now().minusSeconds(60))
+            .build();
+  }
+
+  @Test
+  void testRefreshExpiringForecasts_NothingToRefresh() {
+    when(eventRepository.findIdsWithExpiredForecasts(any(), any(), any())).thenReturn(List.of());
+
+    forecastRefreshService.refreshExpiringForecasts();
+
+    verify(eventRepository, never()).findAllWithForecastById(anyList());
+    verify(forecastService, never()).getForecastDataAsync(any());
+  }
+
+  @Test
+  void testRefreshExpiringForecasts_UpdatesEventsAndCache() {
+    var forecastData =
+        new ForecastData(12.0, 4.0, Instant.now().plus(Duration.ofHours(1)), Instant.now());
+    when(eventRepository.findIdsWithExpiredForecasts(any(), any(), any())).thenReturn(List.of(1L));
+    when(eventRepository.findAllWithForecastById(List.of(1L))).thenReturn(List.of(expiredEvent));
+    when(forecastService.getForecastDataAsync(expiredEvent))
+        .thenReturn(CompletableFuture.completedFuture(forecastData));
+
+    forecastRefreshService.refreshExpiringForecasts();
+
+    assertEquals(12.0, expiredEvent.getAirTemperature());
+    assertEquals(4.0, expiredEvent.getWindSpeed());
+    verify(forecastRepository, times(1)).upsertAll(written.capture());
+    var forecast = written.getValue().iterator().next();
+    assertEquals(expiredEvent.forecastKey(), forecast.getId());
+    assertEquals(12.0, forecast.getAirTemperature());
+    verify(eventRepository, never()).saveAll(anyList());
+    verify(forecastCache, times(1)).put(1L, EventMapper.toSnapshot(expiredEvent));
+    assertEquals(1, meterRegistry.get("spond.forecast.refresh.lag").timer().count());
+  }
+
+  @Test
+  void testRefreshExpiringForecasts_SplitsIntoBatches() {
+    forecastProperties.getRefresh().setBatchSize(2);
+    when(eventRepository.findIdsWithExpiredForecasts(any(), any(), any()))
+        .thenReturn(List.of(1L, 2L, 3L));
+
+    forecastRefreshService.refreshExpiringForecasts();
+
+    verify(eventRepository, times(1)).findAllWithForecastById(List.of(1L, 2L));
+    verify(eventRepository, times(1)).findAllWithForecastById(List.of(3L));
+  }
+
+  @Test
+  void testRefreshExpiringForecasts_FailedFetchIsSkipped() {
+    when(eventRepository.findIdsWithExpiredForecasts(any(), any(), any())).thenReturn(List.of(1L));
+    when(eventRepository.findAllWithForecastById(List.of(1L))).thenReturn(List.of(expiredEvent));
+    when(forecastService.getForecastDataAsync(expiredEvent))
+        .thenReturn(
+            CompletableFuture.failedFuture(
+                new RuntimeException("Error while fetching Weather Forecast")));
+
+    forecastRefreshService.refreshExpiringForecasts();
+
+    verify(forecastRepository, never()).upsertAll(any());
+    assertEquals(1.0, meterRegistry.get("spond.forecast.refresh.failures").counter().count(), 0.0);
+  }
+
+  @Test
+  void testRefreshExpiringForecasts_FallbackIsAFailure() {
+    // what the forecast service returns after an error response or an unreadable body
+    var fallback =
+        new ForecastData(
+            expiredEvent.getAirTemperature(),
+            expiredEvent.getWindSpeed(),
+            expiredEvent.getForecastExpiresAt(),
+            expiredEvent.getForecastLastModifiedAt());
+    when(eventRepository.findIdsWithExpiredForecasts(any(), any(), any())).thenReturn(List.of(1L));
+    when(eventRepository.findAllWithForecastById(List.of(1L))).thenReturn(List.of(expiredEvent));
+    when(forecastService.getForecastDataAsync(expiredEvent))
+        .thenReturn(CompletableFuture.completedFuture(fallback));
+
+    forecastRefreshService.refreshExpiringForecasts();
+
+    verify(forecastRepository, never()).upsertAll(any());
+    verify(forecastCache, never()).put(any(), any());
+    assertEquals(1.0, meterRegistry.get("spond.forecast.refresh.failures").counter().count(), 0.0);
+    assertEquals(0, meterRegistry.get("spond.forecast.refresh.lag").timer().count());
+  }
+
+  @Test
+  void testRefreshBatch_StartsFetchesTogether() throws Exception {
+    var events = new ArrayList<Event>();
+    var fetches = new ArrayList<CompletableFuture<ForecastData>>();
+    for (var id = 1L; id <= 5; id++) {
+      var event = Event.builder().id(id).latitude(59.91).longitude(10.75 + id).build();
+      var fetch = new CompletableFuture<ForecastData>();
+      events.add(event);
+      fetches.add(fetch);
+      when(forecastService.getForecastDataAsync(event)).thenReturn(fetch);
+    }
+    var ids = List.of(1L, 2L, 3L, 4L, 5L);
+    when(eventRepository.findAllWithForecastById(ids)).thenReturn(events);
+
+    var refresh = CompletableFuture.supplyAsync(() -> forecastRefreshService.refreshBatch(ids));
+
+    // no fetch waits for another, the upstream limit is applied by the forecast service
+    verify(forecastService, timeout(1000).times(5)).getForecastDataAsync(any());
+    fetches.forEach(f -> f.complete(new ForecastData(10.0, 2.0, Instant.now(), Instant.now())));
+    assertEquals(5, refresh.get(5, TimeUnit.SECONDS));
+  }
+}
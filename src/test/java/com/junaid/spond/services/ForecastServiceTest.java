@@ -2,46 +2,82 @@ package com.junaid.spond.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyDouble;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.junaid.spond.configs.ForecastProperties;
+import com.junaid.spond.exceptions.ForecastUnavailableException;
 import com.junaid.spond.models.Event;
 import com.junaid.spond.models.ForecastData;
+import com.junaid.spond.models.LocationForecast;
+import com.junaid.spond.models.LocationKey;
+import com.junaid.spond.utils.CircuitBreaker;
+import com.junaid.spond.utils.ConcurrencyLimiter;
+import com.junaid.spond.utils.InProcessSharedCache;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import javax.net.ssl.SSLSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
+import org.mockito.Spy;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.test.util.ReflectionTestUtils;
 
 class ForecastServiceTest {
 
-  @Mock private RestTemplate restTemplate;
-  @Mock private ObjectMapper objectMapper;
+  @Mock private HttpClient forecastHttpClient;
+  @Spy private ObjectMapper objectMapper = new ObjectMapper();
+  @Spy private ForecastProperties forecastProperties = new ForecastProperties();
+
+  @Spy
+  private Cache<LocationKey, LocationForecast> locationForecastCache =
+      Caffeine.newBuilder().build();
+
+  @Spy private ConcurrencyLimiter forecastRequestLimiter = new ConcurrencyLimiter(8);
+
+  @Spy
+  private CircuitBreaker forecastCircuitBreaker = new CircuitBreaker(5, Duration.ofSeconds(30));
 
   @InjectMocks private ForecastService forecastService;
 
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    // keep retries quick
+    forecastProperties.getRetry().setInitialBackoff(Duration.ofMillis(5));
   }
 
   @Test
-  void testGetForecastData_SuccessfulResponse() throws Exception {
+  void testGetForecastData_SuccessfulResponse() {
     // Arrange
     Event event = new Event();
     event.setLatitude(59.91);
@@ -49,32 +85,14 @@ class ForecastServiceTest {
     event.setStartDateTime(Instant.parse("2025-05-10T10:00:00Z"));
 
     String responseBody = "{ \"properties\": { \"timeseries\": [] } }";
-    ResponseEntity<String> response = new ResponseEntity<>(responseBody, HttpStatus.OK);
-
-    when(restTemplate.exchange(
-            anyString(),
-            eq(HttpMethod.GET),
-            any(HttpEntity.class),
-            eq(String.class),
-            anyDouble(),
-            anyDouble()))
-        .thenReturn(response);
-
-    when(objectMapper.readTree(responseBody)).thenReturn(mock(JsonNode.class));
+    whenFetched().thenReturn(okResponse(responseBody));
 
     // Act
     ForecastData forecastData = forecastService.getForecastData(event);
 
     // Assert
     assertNotNull(forecastData);
-    verify(restTemplate, times(1))
-        .exchange(
-            anyString(),
-            eq(HttpMethod.GET),
-            any(HttpEntity.class),
-            eq(String.class),
-            anyDouble(),
-            anyDouble());
+    verifyFetched(1);
   }
 
   @Test
@@ -88,16 +106,7 @@ class ForecastServiceTest {
     event.setLatitude(59.91);
     event.setLongitude(10.75);
 
-    ResponseEntity<String> response = new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
-
-    when(restTemplate.exchange(
-            anyString(),
-            eq(HttpMethod.GET),
-            any(HttpEntity.class),
-            eq(String.class),
-            anyDouble(),
-            anyDouble()))
-        .thenReturn(response);
+    whenFetched().thenReturn(response(304, Map.of(), new byte[0]));
 
     // Act
     ForecastData forecastData = forecastService.getForecastData(event);
@@ -106,14 +115,44 @@ class ForecastServiceTest {
     assertNotNull(forecastData);
     assertEquals(25.0, forecastData.getAirTemperature());
     assertEquals(5.0, forecastData.getWindSpeed());
-    verify(restTemplate, times(1))
-        .exchange(
-            anyString(),
-            eq(HttpMethod.GET),
-            any(HttpEntity.class),
-            eq(String.class),
-            anyDouble(),
-            anyDouble());
+    verifyFetched(1);
+  }
+
+  @Test
+  void testGetForecastData_NoCoordinates() {
+    // Arrange
+    Event event = new Event();
+    event.setAirTemperature(25.0);
+    event.setStartDateTime(Instant.parse("2025-05-10T10:00:00Z"));
+
+    // Act
+    ForecastData forecastData = forecastService.getForecastData(event);
+
+    // Assert
+    assertEquals(25.0, forecastData.getAirTemperature());
+    verifyFetched(0);
+  }
+
+  @Test
+  void testGetForecastData_RequestsRoundedCoordinates() {
+    // Arrange
+    Event event = new Event();
+    event.setLatitude(58.969975);
+    event.setLongitude(-5.7);
+    event.setStartDateTime(Instant.parse("2025-05-10T10:00:00Z"));
+
+    whenFetched().thenReturn(response(304, Map.of(), new byte[0]));
+
+    // Act
+    forecastService.getForecastData(event);
+
+    // Assert
+    var request = verifyFetched();
+    assertEquals(
+        "https://api.met.no/weatherapi/locationforecast/2.0/compact?lat=58.9700&lon=-5.7000",
+        request.uri().toString());
+    assertEquals(Optional.of("gzip"), request.headers().firstValue("Accept-Encoding"));
+    assertEquals(Optional.of(Duration.ofSeconds(5)), request.timeout());
   }
 
   @Test
@@ -123,14 +162,7 @@ class ForecastServiceTest {
     event.setLatitude(59.91);
     event.setLongitude(10.75);
 
-    when(restTemplate.exchange(
-            anyString(),
-            eq(HttpMethod.GET),
-            any(HttpEntity.class),
-            eq(String.class),
-            anyDouble(),
-            anyDouble()))
-        .thenThrow(new RuntimeException("API error"));
+    whenFetched().thenReturn(CompletableFuture.failedFuture(new HttpTimeoutException("timed out")));
 
     // Act & Assert
     RuntimeException exception =
@@ -139,32 +171,409 @@ class ForecastServiceTest {
   }
 
   @Test
-  void testParseWeatherData_Successful() throws Exception {
+  void testGetForecastData_StalledBodyTimesOut() {
+    // Arrange
+    Event event = new Event();
+    event.setLatitude(59.91);
+    event.setLongitude(10.75);
+    forecastProperties.getClient().setRequestTimeout(Duration.ofMillis(50));
+
+    // headers arrived but the body never completes
+    var exchanges = new ArrayList<CompletableFuture<HttpResponse<byte[]>>>();
+    whenFetched()
+        .thenAnswer(
+            invocation -> {
+              var exchange = new CompletableFuture<HttpResponse<byte[]>>();
+              exchanges.add(exchange);
+              return exchange;
+            });
+
+    // Act & Assert
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(5),
+        () ->
+            assertThrows(
+                ForecastUnavailableException.class, () -> forecastService.getForecastData(event)));
+    verifyFetched(3);
+    assertTrue(exchanges.stream().allMatch(CompletableFuture::isCancelled));
+  }
+
+  @Test
+  void testGetForecastData_RetriesTransientFailures() {
     // Arrange
     Event event = new Event();
     event.setLatitude(59.91);
     event.setLongitude(10.75);
     event.setStartDateTime(Instant.parse("2025-05-10T10:00:00Z"));
 
-    String responseBody = "{ \"properties\": { \"timeseries\": [] } }";
-    ResponseEntity<String> response = new ResponseEntity<>(responseBody, HttpStatus.OK);
-
-    JsonNode mockRootNode = mock(JsonNode.class);
-    when(restTemplate.exchange(
-            anyString(),
-            eq(HttpMethod.GET),
-            any(HttpEntity.class),
-            eq(String.class),
-            anyDouble(),
-            anyDouble()))
-        .thenReturn(response);
-    when(objectMapper.readTree(anyString())).thenReturn(mockRootNode);
+    whenFetched()
+        .thenReturn(CompletableFuture.failedFuture(new HttpTimeoutException("timed out")))
+        .thenReturn(response(503, Map.of(), new byte[0]))
+        .thenReturn(
+            okResponse(
+                "{ \"properties\": { \"timeseries\": ["
+                    + timestep("2025-05-10T10:00:00Z", 10.5, 2.0)
+                    + "] } }"));
 
     // Act
     ForecastData forecastData = forecastService.getForecastData(event);
 
     // Assert
-    assertNotNull(forecastData);
-    verify(objectMapper, times(1)).readTree(responseBody);
+    assertEquals(10.5, forecastData.getAirTemperature());
+    verifyFetched(3);
+    assertEquals(CircuitBreaker.State.CLOSED, forecastCircuitBreaker.state());
+  }
+
+  @Test
+  void testGetForecastData_RetryAfterOpensCircuit() {
+    // Arrange
+    Event event = new Event();
+    event.setLatitude(59.91);
+    event.setLongitude(10.75);
+    Event otherEvent = new Event();
+    otherEvent.setLatitude(60.39);
+    otherEvent.setLongitude(5.32);
+
+    whenFetched().thenReturn(response(429, Map.of("Retry-After", "120"), new byte[0]));
+
+    // Act & Assert
+    assertThrows(ForecastUnavailableException.class, () -> forecastService.getForecastData(event));
+    assertEquals(CircuitBreaker.State.OPEN, forecastCircuitBreaker.state());
+
+    // other locations are not fetched until the server's retry after has passed
+    assertThrows(
+        ForecastUnavailableException.class, () -> forecastService.getForecastData(otherEvent));
+    verifyFetched(1);
+  }
+
+  @Test
+  void testGetForecastData_OpenCircuitFailsFast() {
+    // Arrange
+    Event event = new Event();
+    event.setLatitude(59.91);
+    event.setLongitude(10.75);
+
+    whenFetched().thenReturn(response(500, Map.of(), new byte[0]));
+
+    // Act: two fetches of three attempts each reach the failure threshold of five
+    assertThrows(ForecastUnavailableException.class, () -> forecastService.getForecastData(event));
+    assertThrows(ForecastUnavailableException.class, () -> forecastService.getForecastData(event));
+
+    // Assert
+    assertEquals(CircuitBreaker.State.OPEN, forecastCircuitBreaker.state());
+    verifyFetched(5);
+  }
+
+  @Test
+  void testParseWeatherData_Successful() {
+    // Arrange
+    Event event = new Event();
+    event.setLatitude(59.91);
+    event.setLongitude(10.75);
+    event.setStartDateTime(Instant.now().plusSeconds(3 * 3600));
+
+    var firstStep = Instant.now().plusSeconds(3600).toString().substring(0, 13) + ":00:00Z";
+    var secondStep = Instant.now().plusSeconds(4 * 3600).toString().substring(0, 13) + ":00:00Z";
+    String responseBody =
+        "{ \"type\": \"Feature\", \"geometry\": { \"type\": \"Point\", \"coordinates\": [10.75,"
+            + " 59.91, 12] }, \"properties\": { \"meta\": { \"units\": { \"air_temperature\":"
+            + " \"celsius\" } }, \"timeseries\": ["
+            + timestep(firstStep, 10.5, 2.0)
+            + ","
+            + timestep(secondStep, 12.5, 3.0)
+            + "] } }";
+    whenFetched().thenReturn(okResponse(responseBody));
+
+    // Act
+    ForecastData forecastData = forecastService.getForecastData(event);
+
+    // Assert
+    assertEquals(12.5, forecastData.getAirTemperature());
+    assertEquals(3.0, forecastData.getWindSpeed());
+    assertEquals(Instant.parse("2125-05-10T10:30:00Z"), forecastData.getForecastExpiresAt());
+    assertEquals(Instant.parse("2025-05-10T09:30:00Z"), forecastData.getForecastLastModifiedAt());
+  }
+
+  @Test
+  void testParseWeatherData_MissingValueIsNull() {
+    // Arrange
+    Event event = new Event();
+    event.setLatitude(59.91);
+    event.setLongitude(10.75);
+    event.setStartDateTime(Instant.parse("2025-05-10T10:00:00Z"));
+
+    String responseBody =
+        "{ \"properties\": { \"timeseries\": [ { \"time\": \"2025-05-10T10:00:00Z\", \"data\": {"
+            + " \"instant\": { \"details\": { \"wind_speed\": 4.0 } } } } ] } }";
+    whenFetched().thenReturn(okResponse(responseBody));
+
+    // Act
+    ForecastData forecastData = forecastService.getForecastData(event);
+
+    // Assert
+    assertNull(forecastData.getAirTemperature());
+    assertEquals(4.0, forecastData.getWindSpeed());
+  }
+
+  @Test
+  void testGetForecastData_EventsAtSameLocationShareOneFetch() {
+    // Arrange
+    Event event1 = new Event();
+    event1.setLatitude(58.97);
+    event1.setLongitude(5.73);
+    event1.setStartDateTime(Instant.parse("2025-05-10T10:00:00Z"));
+    Event event2 = new Event();
+    event2.setLatitude(58.97);
+    event2.setLongitude(5.73);
+    event2.setStartDateTime(Instant.parse("2025-05-10T12:00:00Z"));
+
+    String responseBody =
+        "{ \"properties\": { \"timeseries\": ["
+            + timestep("2025-05-10T10:00:00Z", 10.5, 2.0)
+            + ","
+            + timestep("2025-05-10T12:00:00Z", 12.5, 3.0)
+            + "] } }";
+    whenFetched().thenReturn(okResponse(responseBody));
+
+    // Act
+    ForecastData forecastData1 = forecastService.getForecastData(event1);
+    ForecastData forecastData2 = forecastService.getForecastData(event2);
+
+    // Assert
+    assertEquals(10.5, forecastData1.getAirTemperature());
+    assertEquals(2.0, forecastData1.getWindSpeed());
+    assertEquals(12.5, forecastData2.getAirTemperature());
+    assertEquals(3.0, forecastData2.getWindSpeed());
+    assertEquals(Instant.parse("2125-05-10T10:30:00Z"), forecastData2.getForecastExpiresAt());
+    verifyFetched(1);
+  }
+
+  @Test
+  void testGetForecastData_SharedTierServesOtherInstances() {
+    // Arrange
+    Event event = new Event();
+    event.setLatitude(58.97);
+    event.setLongitude(5.73);
+    event.setStartDateTime(Instant.parse("2025-05-10T10:00:00Z"));
+
+    var sharedCache =
+        new InProcessSharedCache<LocationKey, LocationForecast>(
+            locationForecast -> Duration.ofHours(1));
+    ReflectionTestUtils.setField(forecastService, "sharedLocationForecastCache", sharedCache);
+    whenFetched()
+        .thenReturn(
+            okResponse(
+                "{ \"properties\": { \"timeseries\": ["
+                    + timestep("2025-05-10T10:00:00Z", 10.5, 2.0)
+                    + "] } }"));
+    forecastService.getForecastData(event);
+
+    // Act: another instance, with nothing in its local cache yet
+    locationForecastCache.invalidateAll();
+    ForecastData forecastData = forecastService.getForecastData(event);
+
+    // Assert
+    assertEquals(10.5, forecastData.getAirTemperature());
+    assertNotNull(locationForecastCache.getIfPresent(LocationKey.of(58.97, 5.73)));
+    verifyFetched(1);
+  }
+
+  @Test
+  void testGetForecastData_NotModifiedExtendsLocationForecast() {
+    // Arrange
+    Event event = new Event();
+    event.setLatitude(58.97);
+    event.setLongitude(5.73);
+    event.setStartDateTime(Instant.parse("2025-05-10T10:00:00Z"));
+
+    var expiredForecast =
+        new LocationForecast(
+            new long[] {Instant.parse("2025-05-10T10:00:00Z").getEpochSecond()},
+            new double[] {10.5},
+            new double[] {2.0},
+            Instant.parse("2025-05-10T09:00:00Z"),
+            Instant.parse("2025-05-10T08:00:00Z"));
+    locationForecastCache.put(LocationKey.of(58.97, 5.73), expiredForecast);
+
+    whenFetched()
+        .thenReturn(response(304, Map.of("Expires", "Thu, 10 May 2125 10:30:00 GMT"), new byte[0]));
+
+    // Act
+    ForecastData forecastData = forecastService.getForecastData(event);
+
+    // Assert
+    assertEquals(10.5, forecastData.getAirTemperature());
+    assertEquals(Instant.parse("2125-05-10T10:30:00Z"), forecastData.getForecastExpiresAt());
+    assertEquals(Instant.parse("2025-05-10T08:00:00Z"), forecastData.getForecastLastModifiedAt());
+    assertEquals(
+        Optional.of("Sat, 10 May 2025 08:00:00 GMT"),
+        verifyFetched().headers().firstValue("If-Modified-Since"));
+  }
+
+  @Test
+  void testGetForecastData_NotModifiedWithInvalidExpiresKeepsExpiry() {
+    // Arrange
+    Event event = new Event();
+    event.setLatitude(58.97);
+    event.setLongitude(5.73);
+    event.setStartDateTime(Instant.parse("2025-05-10T10:00:00Z"));
+
+    var expiredForecast =
+        new LocationForecast(
+            new long[] {Instant.parse("2025-05-10T10:00:00Z").getEpochSecond()},
+            new double[] {10.5},
+            new double[] {2.0},
+            Instant.parse("2025-05-10T09:00:00Z"),
+            Instant.parse("2025-05-10T08:00:00Z"));
+    locationForecastCache.put(LocationKey.of(58.97, 5.73), expiredForecast);
+
+    whenFetched().thenReturn(response(304, Map.of("Expires", "not a date"), new byte[0]));
+
+    // Act
+    ForecastData forecastData = forecastService.getForecastData(event);
+
+    // Assert
+    assertEquals(10.5, forecastData.getAirTemperature());
+    assertEquals(Instant.parse("2025-05-10T09:00:00Z"), forecastData.getForecastExpiresAt());
+  }
+
+  @Test
+  void testGetForecastData_GzipResponse() throws IOException {
+    // Arrange
+    Event event = new Event();
+    event.setLatitude(58.97);
+    event.setLongitude(5.73);
+    event.setStartDateTime(Instant.parse("2025-05-10T10:00:00Z"));
+
+    var body =
+        "{ \"properties\": { \"timeseries\": ["
+            + timestep("2025-05-10T10:00:00Z", 10.5, 2.0)
+            + "] } }";
+    var compressed = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(compressed)) {
+      gzip.write(body.getBytes(StandardCharsets.UTF_8));
+    }
+    whenFetched()
+        .thenReturn(
+            response(
+                200,
+                Map.of(
+                    "Content-Encoding", "gzip",
+                    "Expires", "Thu, 10 May 2125 10:30:00 GMT",
+                    "Last-Modified", "Sat, 10 May 2025 09:30:00 GMT"),
+                compressed.toByteArray()));
+
+    // Act
+    ForecastData forecastData = forecastService.getForecastData(event);
+
+    // Assert
+    assertEquals(10.5, forecastData.getAirTemperature());
+  }
+
+  @Test
+  void testGetForecastDataAsync_DoesNotBlockOnUpstream() {
+    // Arrange
+    Event event = new Event();
+    event.setLatitude(58.97);
+    event.setLongitude(5.73);
+    event.setStartDateTime(Instant.parse("2025-05-10T10:00:00Z"));
+
+    var pending = new CompletableFuture<HttpResponse<byte[]>>();
+    whenFetched().thenReturn(pending);
+
+    // Act
+    var first = forecastService.getForecastDataAsync(event);
+    var second = forecastService.getForecastDataAsync(event);
+
+    // Assert
+    assertTrue(!first.isDone() && !second.isDone());
+    pending.complete(
+        okResponse(
+                "{ \"properties\": { \"timeseries\": ["
+                    + timestep("2025-05-10T10:00:00Z", 10.5, 2.0)
+                    + "] } }")
+            .join());
+    assertEquals(10.5, first.join().getAirTemperature());
+    assertEquals(10.5, second.join().getAirTemperature());
+    verifyFetched(1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private OngoingStubbing<CompletableFuture<HttpResponse<byte[]>>> whenFetched() {
+    return when(
+        forecastHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void verifyFetched(int count) {
+    verify(forecastHttpClient, times(count))
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  private HttpRequest verifyFetched() {
+    var request = ArgumentCaptor.forClass(HttpRequest.class);
+    verify(forecastHttpClient, times(1))
+        .sendAsync(request.capture(), any(HttpResponse.BodyHandler.class));
+    return request.getValue();
+  }
+
+  private static CompletableFuture<HttpResponse<byte[]>> okResponse(String body) {
+    return response(
+        200,
+        Map.of(
+            "Expires", "Thu, 10 May 2125 10:30:00 GMT",
+            "Last-Modified", "Sat, 10 May 2025 09:30:00 GMT"),
+        body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static CompletableFuture<HttpResponse<byte[]>> response(
+      int statusCode, Map<String, String> headers, byte[] body) {
+    var httpHeaders =
+        HttpHeaders.of(
+            headers.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> List.of(entry.getValue()))),
+            (name, value) -> true);
+    return CompletableFuture.completedFuture(new TestResponse(statusCode, httpHeaders, body));
+  }
+
+  private record TestResponse(int statusCode, HttpHeaders headers, byte[] body)
+      implements HttpResponse<byte[]> {
+    @Override
+    public HttpRequest request() {
+      return null;
+    }
+
+    @Override
+    public Optional<HttpResponse<byte[]>> previousResponse() {
+      return Optional.empty();
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+      return Optional.empty();
+    }
+
+    @Override
+    public URI uri() {
+      return null;
+    }
+
+    @Override
+    public HttpClient.Version version() {
+      return HttpClient.Version.HTTP_2;
+    }
+  }
+
+  private static String timestep(String time, double airTemperature, double windSpeed) {
+    return "{ \"time\": \""
+        + time
+        + "\", \"data\": { \"instant\": { \"details\": { \"air_pressure_at_sea_level\": 1012.3,"
+        + " \"air_temperature\": "
+        + airTemperature
+        + ", \"wind_speed\": "
+        + windSpeed
+        + " } }, \"next_1_hours\": { \"summary\": { \"symbol_code\": \"cloudy\" }, \"details\": {"
+        + " \"precipitation_amount\": 0.0 } } } }";
   }
 }
@@ -0,0 +1,152 @@
+package com.junaid.spond.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.junaid.spond.configs.ForecastProperties;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.models.Forecast;
+import com.junaid.spond.models.ForecastData;
+import com.junaid.spond.repositories.ForecastRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.QueryTimeoutException;
+
+class ForecastWriteBehindTest {
+  private static final Instant START = Instant.parse("2025-06-01T18:00:00Z");
+
+  @Mock private ForecastRepository forecastRepository;
+  @Spy private ForecastProperties forecastProperties = new ForecastProperties();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @InjectMocks
+  private ForecastWriteBehind forecastWriteBehind = new ForecastWriteBehind(meterRegistry);
+
+  @Captor private ArgumentCaptor<Collection<Forecast>> batches;
+
+  private ForecastData forecast;
+  private ForecastData newerForecast;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    forecast = new ForecastData(10.0, 2.0, Instant.now().plus(Duration.ofHours(1)), Instant.now());
+    newerForecast =
+        new ForecastData(12.0, 3.0, Instant.now().plus(Duration.ofHours(2)), Instant.now());
+  }
+
+  @Test
+  void testFlush_WritesNewestForecastPerCell() {
+    // Arrange
+    forecastWriteBehind.enqueue(event(1L, 59.9139), newerForecast);
+    // another event in the same cell and hour shares the row
+    forecastWriteBehind.enqueue(event(2L, 59.91391), forecast);
+    forecastWriteBehind.enqueue(event(3L, 58.9700), forecast);
+
+    // Act
+    forecastWriteBehind.flush();
+    forecastWriteBehind.flush();
+
+    // Assert
+    verify(forecastRepository, times(1)).upsertAll(batches.capture());
+    var written =
+        batches.getValue().stream()
+            .collect(
+                Collectors.toMap(
+                    forecastRow -> forecastRow.getId().latitudeE4(), Forecast::getAirTemperature));
+    assertEquals(Map.of(599139, 12.0, 589700, 10.0), written);
+    assertEquals(0, meterRegistry.get("spond.forecast.write-behind.pending").gauge().value());
+  }
+
+  @Test
+  void testFlush_SplitsIntoBatches() {
+    // Arrange
+    forecastProperties.getWriteBehind().setBatchSize(2);
+    for (var i = 0; i < 5; i++) {
+      forecastWriteBehind.enqueue(event(i, 58.0 + i), forecast);
+    }
+
+    // Act
+    forecastWriteBehind.flush();
+
+    // Assert
+    verify(forecastRepository, times(3)).upsertAll(batches.capture());
+    assertEquals(5, batches.getAllValues().stream().mapToInt(Collection::size).sum());
+  }
+
+  @Test
+  void testFlush_FailedBatchIsKeptForTheNextFlush() {
+    // Arrange
+    forecastWriteBehind.enqueue(event(1L, 59.9139), forecast);
+    doThrow(new QueryTimeoutException("timeout"))
+        .doNothing()
+        .when(forecastRepository)
+        .upsertAll(anyCollection());
+
+    // Act
+    forecastWriteBehind.flush();
+    forecastWriteBehind.flush();
+
+    // Assert
+    verify(forecastRepository, times(2)).upsertAll(anyCollection());
+    assertEquals(0, meterRegistry.get("spond.forecast.write-behind.pending").gauge().value());
+  }
+
+  @Test
+  void testEnqueue_EventWithoutLocationIsSkipped() {
+    // Act
+    forecastWriteBehind.enqueue(Event.builder().id(1L).build(), forecast);
+    forecastWriteBehind.flush();
+
+    // Assert
+    verify(forecastRepository, never()).upsertAll(any());
+  }
+
+  @Test
+  void testApplyPending_OnlyNewerForecasts() {
+    // Arrange
+    var event = event(1L, 59.9139);
+    event.setForecastExpiresAt(Instant.now());
+    var upToDateEvent = event(2L, 59.9139);
+    upToDateEvent.setAirTemperature(20.0);
+    upToDateEvent.setForecastExpiresAt(Instant.now().plus(Duration.ofHours(3)));
+    forecastWriteBehind.enqueue(event, forecast);
+
+    // Act
+    forecastWriteBehind.applyPending(event);
+    forecastWriteBehind.applyPending(upToDateEvent);
+
+    // Assert
+    assertEquals(10.0, event.getAirTemperature());
+    assertEquals(forecast.getForecastExpiresAt(), event.getForecastExpiresAt());
+    assertEquals(20.0, upToDateEvent.getAirTemperature());
+    verify(forecastRepository, never()).upsertAll(any());
+  }
+
+  private static Event event(long id, double latitude) {
+    return Event.builder()
+        .id(id)
+        .latitude(latitude)
+        .longitude(10.7522)
+        .startDateTime(START)
+        .build();
+  }
+}
@@ -0,0 +1,38 @@
+package com.junaid.spond.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.junaid.spond.mappers.EventMapper;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.models.EventSnapshot;
+import com.junaid.spond.models.LocationForecast;
+import org.junit.jupiter.api.Test;
+
+class CacheWeighersTest {
+
+  @Test
+  void testEventGrowsWithItsText() {
+    var small = snapshot(Event.builder().name("Run").build());
+    var large = snapshot(Event.builder().name("Run").description("x".repeat(1000)).build());
+
+    assertEquals(1040, CacheWeighers.event(1L, large) - CacheWeighers.event(1L, small));
+    assertTrue(CacheWeighers.event(1L, snapshot(new Event())) > 0);
+  }
+
+  @Test
+  void testLocationForecastGrowsWithItsTimesteps() {
+    var shorter = new LocationForecast(new long[10], new double[10], new double[10], null, null);
+    var longer = new LocationForecast(new long[20], new double[20], new double[20], null, null);
+
+    assertEquals(
+        10 * 24,
+        CacheWeighers.locationForecast(null, longer)
+            - CacheWeighers.locationForecast(null, shorter));
+  }
+
+  private static EventSnapshot snapshot(Event event) {
+    event.setId(1L);
+    return EventMapper.toSnapshot(event);
+  }
+}
@@ -0,0 +1,97 @@
+package com.junaid.spond.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  private final TestClock clock = new TestClock();
+  private final CircuitBreaker circuitBreaker =
+      new CircuitBreaker(3, Duration.ofSeconds(30), clock);
+
+  @Test
+  void testOpensAfterConsecutiveFailures() {
+    circuitBreaker.onFailure();
+    circuitBreaker.onFailure();
+    circuitBreaker.onSuccess();
+    circuitBreaker.onFailure();
+    circuitBreaker.onFailure();
+    assertTrue(circuitBreaker.tryAcquire());
+
+    circuitBreaker.onFailure();
+
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+    assertFalse(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  void testHalfOpenLetsOneProbeThrough() {
+    circuitBreaker.openFor(Duration.ofSeconds(30));
+    clock.advance(Duration.ofSeconds(30));
+
+    assertTrue(circuitBreaker.tryAcquire());
+    assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+    assertFalse(circuitBreaker.tryAcquire());
+
+    circuitBreaker.onSuccess();
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+    assertTrue(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  void testFailedProbeOpensAgain() {
+    circuitBreaker.openFor(Duration.ofSeconds(30));
+    clock.advance(Duration.ofSeconds(30));
+    assertTrue(circuitBreaker.tryAcquire());
+
+    circuitBreaker.onFailure();
+
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+    clock.advance(Duration.ofSeconds(29));
+    assertFalse(circuitBreaker.tryAcquire());
+    clock.advance(Duration.ofSeconds(1));
+    assertTrue(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  void testOpenForKeepsTheLongerWait() {
+    circuitBreaker.openFor(Duration.ofMinutes(5));
+    circuitBreaker.openFor(Duration.ofSeconds(10));
+
+    clock.advance(Duration.ofMinutes(1));
+    assertFalse(circuitBreaker.tryAcquire());
+    clock.advance(Duration.ofMinutes(4));
+    assertTrue(circuitBreaker.tryAcquire());
+  }
+
+  private static class TestClock extends Clock {
+    private Instant now = Instant.parse("2025-05-10T10:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
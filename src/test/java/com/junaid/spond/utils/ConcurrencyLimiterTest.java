@@ -0,0 +1,63 @@
+package com.junaid.spond.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimiterTest {
+
+  @Test
+  void testExecute_QueuesCallsOverTheLimit() {
+    var limiter = new ConcurrencyLimiter(2);
+    var started = new AtomicInteger();
+    var calls = new ArrayList<CompletableFuture<Integer>>();
+    var results = new ArrayList<CompletableFuture<Integer>>();
+    for (var i = 0; i < 5; i++) {
+      var call = new CompletableFuture<Integer>();
+      calls.add(call);
+      results.add(
+          limiter.execute(
+              () -> {
+                started.incrementAndGet();
+                return call;
+              }));
+    }
+
+    assertEquals(2, started.get());
+    assertEquals(3, limiter.queued());
+
+    calls.get(0).complete(0);
+    assertEquals(3, started.get());
+    assertEquals(0, results.get(0).join());
+
+    calls.get(1).completeExceptionally(new IllegalStateException("upstream failed"));
+    assertEquals(4, started.get());
+    assertThrows(CompletionException.class, () -> results.get(1).join());
+
+    for (var i = 2; i < 5; i++) {
+      calls.get(i).complete(i);
+    }
+    assertEquals(5, started.get());
+    assertEquals(0, limiter.queued());
+    assertEquals(4, results.get(4).join());
+  }
+
+  @Test
+  void testExecute_ThrowingCallReleasesItsPermit() {
+    var limiter = new ConcurrencyLimiter(1);
+
+    var failed =
+        limiter.<String>execute(
+            () -> {
+              throw new IllegalStateException("could not send");
+            });
+
+    assertThrows(CompletionException.class, failed::join);
+    assertEquals("ok", limiter.execute(() -> CompletableFuture.completedFuture("ok")).join());
+  }
+}
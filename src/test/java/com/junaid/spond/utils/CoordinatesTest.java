@@ -0,0 +1,48 @@
+package com.junaid.spond.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.junit.jupiter.api.Test;
+
+class CoordinatesTest {
+
+  @Test
+  void testRound_MatchesDecimalRounding() {
+    for (var degrees :
+        new double[] {59.91, 10.75, 58.969975, -5.733149, 0.00005, -0.00005, 179.99999}) {
+      var expected = new BigDecimal(degrees).setScale(4, RoundingMode.HALF_UP);
+      assertEquals(expected.doubleValue(), Coordinates.round(degrees));
+    }
+  }
+
+  @Test
+  void testRound_BinaryTieRoundsDown() {
+    // 1.5E-4 is stored just below the half, %.4f would give 0.0002
+    assertEquals(1.0E-4, Coordinates.round(1.5E-4));
+  }
+
+  @Test
+  void testToFixed_OutOfRange() {
+    for (var degrees : new double[] {180.0001, -250000.0, 1e6, Double.NaN}) {
+      assertThrows(IllegalArgumentException.class, () -> Coordinates.toFixed(degrees));
+    }
+  }
+
+  @Test
+  void testRound_Null() {
+    assertNull(Coordinates.round(null));
+  }
+
+  @Test
+  void testFormat() {
+    assertEquals("59.9100", Coordinates.format(Coordinates.toFixed(59.91)));
+    assertEquals("-5.7331", Coordinates.format(Coordinates.toFixed(-5.733149)));
+    assertEquals("0.0005", Coordinates.format(5));
+    assertEquals("-0.0005", Coordinates.format(-5));
+    assertEquals("180.0000", Coordinates.format(Coordinates.toFixed(180)));
+  }
+}
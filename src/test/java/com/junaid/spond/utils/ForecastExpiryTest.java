@@ -0,0 +1,89 @@
+package com.junaid.spond.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.junaid.spond.mappers.EventMapper;
+import com.junaid.spond.models.Event;
+import com.junaid.spond.models.EventSnapshot;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ForecastExpiryTest {
+
+  private final ForecastExpiry expiry = new ForecastExpiry();
+
+  @Test
+  void testExpiresWithTheForecast() {
+    var event =
+        snapshot(
+            Event.builder().forecastExpiresAt(Instant.now().plus(Duration.ofHours(2))).build());
+
+    var nanos = expiry.expireAfterCreate(1L, event, 0);
+
+    assertTrue(nanos > TimeUnit.MINUTES.toNanos(119) && nanos <= TimeUnit.HOURS.toNanos(2));
+  }
+
+  @Test
+  void testExpiredOrMissingForecastIsNotKept() {
+    var expired =
+        snapshot(Event.builder().forecastExpiresAt(Instant.now().minusSeconds(1)).build());
+
+    assertEquals(0, expiry.expireAfterCreate(1L, expired, 0));
+    assertEquals(0, expiry.expireAfterCreate(1L, snapshot(new Event()), 0));
+  }
+
+  @Test
+  void testUpdateRecomputesAndReadKeeps() {
+    var event =
+        snapshot(
+            Event.builder().forecastExpiresAt(Instant.now().plus(Duration.ofHours(6))).build());
+
+    assertTrue(expiry.expireAfterUpdate(1L, event, 0, 5) > TimeUnit.HOURS.toNanos(5));
+    assertEquals(5, expiry.expireAfterRead(1L, event, 0, 5));
+  }
+
+  @Test
+  void testMaxAgeCapsTheForecastExpiry() {
+    var event =
+        snapshot(
+            Event.builder().forecastExpiresAt(Instant.now().plus(Duration.ofHours(6))).build());
+
+    var nanos = new ForecastExpiry(Duration.ofMinutes(30)).expireAfterCreate(1L, event, 0);
+
+    assertEquals(TimeUnit.MINUTES.toNanos(30), nanos);
+  }
+
+  @Test
+  void testTimeToLive() {
+    var event =
+        snapshot(
+            Event.builder().forecastExpiresAt(Instant.now().plus(Duration.ofHours(6))).build());
+
+    assertEquals(
+        Duration.ofMinutes(30), new ForecastExpiry(Duration.ofMinutes(30)).timeToLive(event));
+    assertEquals(Duration.ZERO, expiry.timeToLive(snapshot(new Event())));
+  }
+
+  @Test
+  void testCacheDropsExpiredEvents() {
+    var cache = Caffeine.newBuilder().expireAfter(expiry).<Long, EventSnapshot>build();
+    cache.put(
+        1L, snapshot(Event.builder().forecastExpiresAt(Instant.now().minusSeconds(1)).build()));
+    cache.put(
+        2L, snapshot(Event.builder().forecastExpiresAt(Instant.now().plusSeconds(60)).build()));
+
+    assertNull(cache.getIfPresent(1L));
+    cache.cleanUp();
+    assertEquals(1, cache.estimatedSize());
+  }
+
+  private static EventSnapshot snapshot(Event event) {
+    event.setId(1L);
+    return EventMapper.toSnapshot(event);
+  }
+}
@@ -0,0 +1,52 @@
+package com.junaid.spond.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.junaid.spond.dtos.EventResponse;
+import com.junaid.spond.dtos.EventSummary;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HttpCachingTest {
+
+  @Test
+  void testEtag_ChangesWithVersionAndForecast() {
+    var lastModified = Instant.parse("2025-05-10T10:00:00Z");
+    var event = EventResponse.builder().id(1L).version(2L).forecastLastModifiedAt(lastModified);
+
+    assertEquals("\"1-2-1746871200000\"", HttpCaching.etag(event.build()));
+    assertEquals("\"1-0-0\"", HttpCaching.etag(EventResponse.builder().id(1L).build()));
+    assertNotEquals(HttpCaching.etag(event.build()), HttpCaching.etag(event.version(3L).build()));
+    assertNotEquals(
+        HttpCaching.etag(event.build()),
+        HttpCaching.etag(event.forecastLastModifiedAt(lastModified.plusSeconds(1)).build()));
+  }
+
+  @Test
+  void testEtag_PageIncludesPageInfo() {
+    var events =
+        List.of(new EventSummary(1L, null, null, null, null, null, null, null, null, 0L, null));
+
+    assertEquals(HttpCaching.etag(events, 0, 1), HttpCaching.etag(events, 0, 1));
+    assertNotEquals(HttpCaching.etag(events, 0, 1), HttpCaching.etag(events, 0, 2));
+    assertNotEquals(HttpCaching.etag(events, 0, 1), HttpCaching.etag(List.of(), 0, 1));
+  }
+
+  @Test
+  void testCacheControl_MaxAgeUntilForecastExpires() {
+    var cacheControl =
+        HttpCaching.cacheControl(Instant.now().plus(Duration.ofMinutes(10)).plusSeconds(1));
+
+    assertEquals("max-age=600, public", cacheControl.getHeaderValue());
+  }
+
+  @Test
+  void testCacheControl_ExpiredForecastIsRevalidated() {
+    assertEquals("no-cache", HttpCaching.cacheControl(null).getHeaderValue());
+    assertEquals(
+        "no-cache", HttpCaching.cacheControl(Instant.now().minusSeconds(1)).getHeaderValue());
+  }
+}
@@ -0,0 +1,70 @@
+package com.junaid.spond.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class InProcessSharedCacheTest {
+
+  private final InProcessSharedCache<Long, String> node1 =
+      new InProcessSharedCache<>(value -> Duration.ofMinutes(5));
+  private final InProcessSharedCache<Long, String> node2 = node1.join();
+
+  @Test
+  void testPut_VisibleToOtherNodes() {
+    node1.put(1L, "event 1");
+
+    assertEquals("event 1", node2.get(1L));
+    assertNull(node2.get(2L));
+  }
+
+  @Test
+  void testPut_OtherNodesDropTheirLocalCopy() {
+    List<Long> invalidated1 = new ArrayList<>();
+    List<Long> invalidated2 = new ArrayList<>();
+    node1.onInvalidation(invalidated1::add);
+    node2.onInvalidation(invalidated2::add);
+
+    node1.put(1L, "event 1");
+
+    // the writer keeps its own local copy
+    assertTrue(invalidated1.isEmpty());
+    assertEquals(List.of(1L), invalidated2);
+  }
+
+  @Test
+  void testInvalidate_RemovesForEveryNode() {
+    List<Long> invalidated = new ArrayList<>();
+    node1.onInvalidation(invalidated::add);
+    node2.put(1L, "event 1");
+
+    node2.invalidate(1L);
+
+    assertNull(node1.get(1L));
+    assertEquals(List.of(1L, 1L), invalidated);
+  }
+
+  @Test
+  void testPut_ExpiredValueIsNotKept() {
+    var cache = new InProcessSharedCache<Long, String>(value -> Duration.ZERO);
+
+    cache.put(1L, "event 1");
+
+    assertNull(cache.get(1L));
+  }
+
+  @Test
+  void testGet_EntryExpires() throws InterruptedException {
+    var cache = new InProcessSharedCache<Long, String>(value -> Duration.ofMillis(1));
+
+    cache.put(1L, "event 1");
+    Thread.sleep(5);
+
+    assertNull(cache.get(1L));
+  }
+}
@@ -0,0 +1,82 @@
+package com.junaid.spond.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class MetForecastParserTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void testParse_StopsAfterHorizon() throws Exception {
+    var body =
+        "{ \"properties\": { \"timeseries\": ["
+            + timestep("2025-05-10T10:00:00Z", 10.5)
+            + ","
+            + timestep("2025-05-10T11:00:00Z", 11.5)
+            + ","
+            + timestep("2025-05-10T12:00:00Z", 12.5)
+            + ", { this is never read"
+            + " ] } }";
+
+    try (var parser = objectMapper.getFactory().createParser(body)) {
+      var forecast =
+          MetForecastParser.parse(parser, Instant.parse("2025-05-10T10:30:00Z"), null, null);
+
+      // the first timestep past the horizon is kept, so events at the edge still get a value
+      assertArrayEquals(
+          new long[] {
+            Instant.parse("2025-05-10T10:00:00Z").getEpochSecond(),
+            Instant.parse("2025-05-10T11:00:00Z").getEpochSecond()
+          },
+          forecast.getTimes());
+      assertArrayEquals(new double[] {10.5, 11.5}, forecast.getAirTemperatures());
+    }
+  }
+
+  @Test
+  void testParse_EmptyTimeseries() throws Exception {
+    try (var parser =
+        objectMapper.getFactory().createParser("{ \"properties\": { \"timeseries\": [] } }")) {
+      assertThrows(
+          IOException.class, () -> MetForecastParser.parse(parser, Instant.MAX, null, null));
+    }
+  }
+
+  @Test
+  void testParseEpochSecond() {
+    for (var time :
+        new String[] {
+          "2025-05-10T10:00:00Z",
+          "2024-02-29T23:59:59Z",
+          "2000-01-01T00:00:00Z",
+          "1969-12-31T12:30:15Z"
+        }) {
+      var chars = ("xx" + time).toCharArray();
+      assertEquals(
+          Instant.parse(time).getEpochSecond(), MetForecastParser.parseEpochSecond(chars, 2, 20));
+    }
+  }
+
+  @Test
+  void testParseEpochSecond_OtherFormatsFallBack() {
+    var time = "2025-05-10T10:00:00.500Z";
+    assertEquals(
+        Instant.parse(time).getEpochSecond(),
+        MetForecastParser.parseEpochSecond(time.toCharArray(), 0, time.length()));
+  }
+
+  private static String timestep(String time, double airTemperature) {
+    return "{ \"time\": \""
+        + time
+        + "\", \"data\": { \"instant\": { \"details\": { \"air_temperature\": "
+        + airTemperature
+        + ", \"wind_speed\": 3.0 } } } }";
+  }
+}
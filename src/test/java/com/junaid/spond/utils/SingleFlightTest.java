@@ -0,0 +1,152 @@
+package com.junaid.spond.utils;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+  @Test
+  void testExecute_ConcurrentCallsShareOneLoad() throws Exception {
+    var loads = new AtomicInteger();
+    var loaderStarted = new CountDownLatch(1);
+    var releaseLoader = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(8);
+    try {
+      var leader =
+          executor.submit(
+              () ->
+                  singleFlight.execute(
+                      "key",
+                      () -> {
+                        loads.incrementAndGet();
+                        loaderStarted.countDown();
+                        await(releaseLoader);
+                        return "value";
+                      }));
+      loaderStarted.await();
+
+      var waiters = new ArrayList<Future<String>>();
+      for (int i = 0; i < 7; i++) {
+        waiters.add(
+            executor.submit(
+                () -> singleFlight.execute("key", () -> "value-" + loads.incrementAndGet())));
+      }
+      // give the waiters time to join the call in flight before it completes
+      Thread.sleep(200);
+      releaseLoader.countDown();
+
+      assertEquals("value", leader.get());
+      for (var waiter : waiters) {
+        assertEquals("value", waiter.get());
+      }
+      assertEquals(1, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testExecute_LoadsAgainAfterCompletion() {
+    assertEquals("first", singleFlight.execute("key", () -> "first"));
+    assertEquals("second", singleFlight.execute("key", () -> "second"));
+  }
+
+  @Test
+  void testExecute_PropagatesLoaderException() {
+    var exception =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                singleFlight.execute(
+                    "key",
+                    () -> {
+                      throw new IllegalStateException("upstream failed");
+                    }));
+    assertEquals("upstream failed", exception.getMessage());
+    assertEquals("recovered", singleFlight.execute("key", () -> "recovered"));
+  }
+
+  @Test
+  void testExecute_LoaderErrorReleasesWaiters() throws Exception {
+    var loaderStarted = new CountDownLatch(1);
+    var releaseLoader = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(2);
+    try {
+      var leader =
+          executor.submit(
+              () ->
+                  singleFlight.execute(
+                      "key",
+                      () -> {
+                        loaderStarted.countDown();
+                        await(releaseLoader);
+                        throw new AssertionError("loader failed");
+                      }));
+      loaderStarted.await();
+      var waiter = executor.submit(() -> singleFlight.execute("key", () -> "value"));
+      // give the waiter time to join the call in flight before it fails
+      Thread.sleep(200);
+      releaseLoader.countDown();
+
+      var leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, SECONDS));
+      assertInstanceOf(AssertionError.class, leaderFailure.getCause());
+      var waiterFailure = assertThrows(ExecutionException.class, () -> waiter.get(5, SECONDS));
+      assertInstanceOf(AssertionError.class, waiterFailure.getCause());
+      assertEquals("recovered", singleFlight.execute("key", () -> "recovered"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  void testExecuteAsync_SharesPendingFuture() {
+    var loads = new AtomicInteger();
+    var pending = new CompletableFuture<String>();
+
+    var first =
+        singleFlight.executeAsync(
+            "key",
+            () -> {
+              loads.incrementAndGet();
+              return pending;
+            });
+    var second =
+        singleFlight.executeAsync(
+            "key",
+            () -> {
+              loads.incrementAndGet();
+              return CompletableFuture.completedFuture("other");
+            });
+    pending.complete("value");
+
+    assertEquals("value", first.join());
+    assertEquals("value", second.join());
+    assertEquals(1, loads.get());
+
+    // once completed the next call loads again
+    assertEquals(
+        "fresh",
+        singleFlight.executeAsync("key", () -> CompletableFuture.completedFuture("fresh")).join());
+  }
+}